@@ -0,0 +1,59 @@
+package com.example.sudokuhelper.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.sudokuhelper.Model.CandidateAnalyzer;
+
+/** Cost of analysing every cell of a corpus puzzle, via the list API and the mask API. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateBenchmark {
+
+    @Param({"easy", "hard", "adversarial"})
+    public String corpus;
+
+    private int[][][] puzzles;
+    private final short[] masks = new short[81];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        puzzles = PuzzleCorpus.load(corpus);
+    }
+
+    @Benchmark
+    public void analyzeAllCells(Blackhole blackhole) {
+        int[][] board = puzzles[next];
+        next = (next + 1) % puzzles.length;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                blackhole.consume(CandidateAnalyzer.analyze(board, row, col));
+            }
+        }
+    }
+
+    @Benchmark
+    public short[] fillCandidateMasks() {
+        int[][] board = puzzles[next];
+        next = (next + 1) % puzzles.length;
+        CandidateAnalyzer.fillCandidateMasks(board, masks);
+        return masks;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.sudokuhelper.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.sudokuhelper.Model.Hint;
+import com.example.sudokuhelper.Model.HintGenerator;
+
+/** Latency-sensitive hint search on the starting position of each corpus puzzle. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HintBenchmark {
+
+    @Param({"easy", "hard", "adversarial"})
+    public String corpus;
+
+    private int[][][] puzzles;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        puzzles = PuzzleCorpus.load(corpus);
+    }
+
+    @Benchmark
+    public Optional<Hint> findHint() {
+        int[][] board = puzzles[next];
+        next = (next + 1) % puzzles.length;
+        return HintGenerator.findHint(board);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sudokuhelper.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the bundled benchmark puzzles ({@code /puzzles/<name>.txt}).
+ */
+final class PuzzleCorpus {
+
+    private PuzzleCorpus() {
+        // utility
+    }
+
+    /**
+     * Reads a corpus of one-line puzzles.
+     * @param name corpus name: {@code easy}, {@code hard} or {@code adversarial}
+     * @return the puzzles as 9x9 grids with 0 for blanks
+     */
+    static int[][][] load(String name) {
+        String resource = "/puzzles/" + name + ".txt";
+        List<int[][]> puzzles = new ArrayList<>();
+        try (InputStream in = PuzzleCorpus.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalArgumentException("Unknown corpus: " + name);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                puzzles.add(parse(line));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return puzzles.toArray(new int[0][][]);
+    }
+
+    private static int[][] parse(String line) {
+        if (line.length() != 81) throw new IllegalArgumentException("Puzzle line must have 81 characters: " + line);
+        int[][] grid = new int[9][9];
+        for (int i = 0; i < 81; i++) {
+            char ch = line.charAt(i);
+            grid[i / 9][i % 9] = ch == '.' ? 0 : ch - '0';
+        }
+        return grid;
+    }
+
+    /** Copies {@code src} into {@code dest} (both 9x9). */
+    static void copy(int[][] src, int[][] dest) {
+        for (int r = 0; r < 9; r++) System.arraycopy(src[r], 0, dest[r], 0, 9);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.sudokuhelper.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.sudokuhelper.Model.SolutionChecker;
+import com.example.sudokuhelper.Model.SudokuSolver;
+
+/** Validation of complete grids, using the solutions of the hard corpus. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolutionCheckerBenchmark {
+
+    private int[][][] solutions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        solutions = PuzzleCorpus.load("hard");
+        for (int[][] grid : solutions) SudokuSolver.solve(grid);
+    }
+
+    @Benchmark
+    public boolean isValidSolution() {
+        int[][] grid = solutions[next];
+        next = (next + 1) % solutions.length;
+        return SolutionChecker.isValidSolution(grid);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.sudokuhelper.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.sudokuhelper.Model.SudokuSolver;
+
+/** Throughput of {@link SudokuSolver#solve(int[][])}, one corpus puzzle per invocation. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"easy", "hard", "adversarial"})
+    public String corpus;
+
+    private int[][][] puzzles;
+    private final int[][] board = new int[9][9];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        puzzles = PuzzleCorpus.load(corpus);
+    }
+
+    @Benchmark
+    public int[][] solve() {
+        PuzzleCorpus.copy(puzzles[next], board);
+        next = (next + 1) % puzzles.length;
+        SudokuSolver.solve(board);
+        return board;
+    }
+}
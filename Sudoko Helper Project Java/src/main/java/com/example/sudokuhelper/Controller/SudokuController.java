@@ -8,24 +8,33 @@ package com.example.sudokuhelper.Controller;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import com.example.sudokuhelper.Model.GridCell;
 import com.example.sudokuhelper.Model.Hint;
 import com.example.sudokuhelper.Model.InputValidator;
+import com.example.sudokuhelper.Model.SessionJournal;
 import com.example.sudokuhelper.Model.SolutionChecker;
+import com.example.sudokuhelper.Model.SolveProgress;
 import com.example.sudokuhelper.Model.StyleManager;
 import com.example.sudokuhelper.Model.SudokuModel;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
 import javafx.scene.layout.GridPane;
@@ -35,6 +44,19 @@ import javafx.stage.Stage;
 
 public class SudokuController {
 
+    /** Maximum time a single Solve request may run before it is abandoned. */
+    private static final Duration SOLVE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int EASY_CLUES = 40;
+    private static final int MEDIUM_CLUES = 32;
+    private static final int HARD_CLUES = 26;
+
+    /** Solutions persisted between runs so reopened puzzles need no re-solve. */
+    private static final File SOLUTION_CACHE_FILE = new File(System.getProperty("user.home"), ".sudokuhelper-solutions.txt");
+    /** Snapshot and move log of the running session, restored after a crash or restart. */
+    private static final File SESSION_SNAPSHOT_FILE = new File(System.getProperty("user.home"), ".sudokuhelper-session.sudses");
+    private static final File SESSION_LOG_FILE = new File(System.getProperty("user.home"), ".sudokuhelper-session.log");
+
     private final SudokuModel model = new SudokuModel();
 
     @FXML
@@ -65,6 +87,12 @@ public class SudokuController {
     private Button saveProgressButton;
     @FXML
     private Button loadProgressButton;
+    @FXML
+    private Button solveButton;
+    @FXML
+    private Button cancelSolveButton;
+    @FXML
+    private Label statusLabel;
 
     @FXML
     private GridPane gridPane;
@@ -73,6 +101,8 @@ public class SudokuController {
 
     private final int[][] player = new int[9][9];
 
+    private CompletableFuture<int[][]> pendingSolve;
+
     /**
      * JavaFX initialization hook. Builds the 9x9 TextField grid, attaches listeners
      * and configures keyboard handling.
@@ -82,10 +112,39 @@ public class SudokuController {
         buildGrid();
         configureGridPane();
         styleButtons();
+        try {
+            model.attachJournal(new SessionJournal(SESSION_SNAPSHOT_FILE, SESSION_LOG_FILE));
+        } catch (IOException ex) {
+            // play continues, just without crash recovery
+        }
         DisplayGrid();
         updatePlayerArray();
         possibleValues.clear();
         enableDisableNumberButtons();
+        setSolving(false);
+        model.warmUpPuzzles(EASY_CLUES, MEDIUM_CLUES, HARD_CLUES);
+        if (SOLUTION_CACHE_FILE.isFile()) {
+            try {
+                model.getSolutionCache().load(SOLUTION_CACHE_FILE);
+            } catch (IOException ex) {
+                // an unreadable cache only costs re-solving
+            }
+        }
+    }
+
+    /** Persists state worth keeping across runs; called when the application stops. */
+    public void shutdown() {
+        if (pendingSolve != null) pendingSolve.cancel(true);
+        try {
+            model.closeJournal();
+        } catch (IOException ex) {
+            // at worst the last moves before exit are lost
+        }
+        try {
+            model.getSolutionCache().save(SOLUTION_CACHE_FILE);
+        } catch (IOException ex) {
+            // the cache is an optimization; losing it is harmless
+        }
     }
 
     private TextField selectedTextField = null;
@@ -270,9 +329,11 @@ public class SudokuController {
     @FXML
     public void onHandleSolveButton(ActionEvent event) {
         handleSolve();
-        updatePlayerArray();
-        possibleValues.clear();
-        enableDisableNumberButtons();
+    }
+    /** Cancels a running background solve. */
+    @FXML
+    public void onHandleCancelSolveButton(ActionEvent event) {
+        if (pendingSolve != null) pendingSolve.cancel(true);
     }
     /** Show candidate values as tooltips for empty cells. */
     @FXML
@@ -354,20 +415,31 @@ public class SudokuController {
         enableDisableNumberButtons();
     }
 
-    /** Attempts to solve the current puzzle using the model's solver. */
+    /** Starts solving the current puzzle on the model's background solver. */
     private void handleSolve() {
-        // Parse current UI into player array
+        if (pendingSolve != null) return;
+        // Parse current UI into player array and keep model in sync
         updatePlayerArray();
 
-        int[][] board = new int[9][9];
-        for (int r = 0; r < 9; r++) {
-            System.arraycopy(player[r], 0, board[r], 0, 9);
-        }
+        setSolving(true);
+        pendingSolve = model.solveAsync(SOLVE_TIMEOUT, progress -> Platform.runLater(() -> showSolveProgress(progress)));
+        pendingSolve.whenComplete((solvedBoard, error) -> Platform.runLater(() -> finishSolve(solvedBoard, error)));
+    }
 
-        // keep model in sync and use it to solve
-        model.setPlayerGrid(board);
-        boolean solved = model.solve();
-        if (!solved || !SolutionChecker.isValidSolution(model.getPlayerGrid())) {
+    /** Displays the result of a background solve; runs on the JavaFX application thread. */
+    private void finishSolve(int[][] solvedBoard, Throwable error) {
+        pendingSolve = null;
+        setSolving(false);
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            statusLabel.setText("Solve cancelled.");
+            return;
+        }
+        if (cause instanceof TimeoutException) {
+            showError("Solve Timed Out", "No solution was found within " + SOLVE_TIMEOUT.toSeconds() + " seconds.");
+            return;
+        }
+        if (cause != null || solvedBoard == null || !SolutionChecker.isValidSolution(solvedBoard)) {
             Alert alert = new Alert(AlertType.ERROR);
             alert.setTitle("No Solution");
             alert.setHeaderText(null);
@@ -377,7 +449,6 @@ public class SudokuController {
         }
 
         // Display solved board
-        int[][] solvedBoard = model.getPlayerGrid();
         for (int row = 0; row < 9; row++) {
             for (int col = 0; col < 9; col++) {
                 TextField tf = gridTextField[row][col];
@@ -386,6 +457,21 @@ public class SudokuController {
             }
         }
         selectedTextField = null;
+        updatePlayerArray();
+        possibleValues.clear();
+        enableDisableNumberButtons();
+    }
+
+    private void showSolveProgress(SolveProgress progress) {
+        if (pendingSolve == null) return;
+        statusLabel.setText("Solving... " + progress.getNodes() + " nodes, depth " + progress.getDepth());
+    }
+
+    /** Toggles the Solve/Cancel buttons and the status line for a running solve. */
+    private void setSolving(boolean solving) {
+        if (solveButton != null) solveButton.setDisable(solving);
+        if (cancelSolveButton != null) cancelSolveButton.setDisable(!solving);
+        if (statusLabel != null) statusLabel.setText(solving ? "Solving..." : "");
     }
 
     /** Evaluates the player's solution and shows an alert with the result. */
@@ -447,7 +533,9 @@ public class SudokuController {
                 message.append("\n\nSuggested move: ").append(hint.getExplanation());
                 highlightHintCell(hint);
             } else {
-                message.append("\n\nNo additional logical hint is available right now.");
+                message.append(model.isHintBudgetExhausted()
+                        ? "\n\nNo hint was found within the search budget."
+                        : "\n\nNo additional logical hint is available right now.");
             }
 
             alert.setContentText(message.toString());
@@ -534,24 +622,24 @@ public class SudokuController {
         difficultyPrompt.setHeaderText("Select difficulty level");
         difficultyPrompt.setContentText("Choose the desired clue count:");
 
-        Button easyButton = new Button("Easy (40 clues)");
-        Button mediumButton = new Button("Medium (32 clues)");
-        Button hardButton = new Button("Hard (26 clues)");
+        Button easyButton = new Button("Easy (" + EASY_CLUES + " clues)");
+        Button mediumButton = new Button("Medium (" + MEDIUM_CLUES + " clues)");
+        Button hardButton = new Button("Hard (" + HARD_CLUES + " clues)");
 
         easyButton.setOnAction(e -> {
             difficultyPrompt.setResult(ButtonType.OK);
             difficultyPrompt.close();
-            generatePuzzleWithClues(40);
+            generatePuzzleWithClues(EASY_CLUES);
         });
         mediumButton.setOnAction(e -> {
             difficultyPrompt.setResult(ButtonType.CANCEL);
             difficultyPrompt.close();
-            generatePuzzleWithClues(32);
+            generatePuzzleWithClues(MEDIUM_CLUES);
         });
         hardButton.setOnAction(e -> {
             difficultyPrompt.setResult(ButtonType.CLOSE);
             difficultyPrompt.close();
-            generatePuzzleWithClues(26);
+            generatePuzzleWithClues(HARD_CLUES);
         });
 
         difficultyPrompt.getDialogPane().getButtonTypes().clear();
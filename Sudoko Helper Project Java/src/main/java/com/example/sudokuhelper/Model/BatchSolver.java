@@ -0,0 +1,185 @@
+package com.example.sudokuhelper.Model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves streams of one-line puzzles on a pool of worker threads.
+ * <p>Each input line holds 81 characters, digits with {@code 0} or {@code .} for blanks;
+ * blank lines and lines starting with {@code #} are skipped. Lines are read incrementally
+ * and at most a bounded window of puzzles is in flight, so memory use does not depend on
+ * the input size. Every puzzle produces one CSV output line, in input order:</p>
+ * <pre>puzzle,status,solution,micros</pre>
+ * <p>where status is {@code SOLVED} (unique solution), {@code MULTIPLE} (first solution
+ * written), {@code UNSOLVABLE} or {@code INVALID} (malformed line).</p>
+ */
+public final class BatchSolver {
+
+    private static final int WINDOW_PER_THREAD = 256;
+
+    private final int threads;
+    private final ThreadLocal<BitboardSolver> solvers = ThreadLocal.withInitial(BitboardSolver::new);
+
+    /**
+     * @param threads number of worker threads (at least 1)
+     */
+    public BatchSolver(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be at least 1");
+        this.threads = threads;
+    }
+
+    /**
+     * Solves every puzzle line of {@code input} and writes the results to {@code output}.
+     * @param input puzzle lines
+     * @param output destination of the result lines
+     * @return per-status totals of the run
+     * @throws IOException when reading or writing fails
+     */
+    public Summary run(BufferedReader input, Writer output) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "sudoku-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BufferedWriter writer = output instanceof BufferedWriter buffered ? buffered : new BufferedWriter(output);
+        Deque<Future<Result>> pending = new ArrayDeque<>();
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+        try {
+            String line;
+            while ((line = input.readLine()) != null) {
+                String puzzle = line.trim();
+                if (puzzle.isEmpty() || puzzle.startsWith("#")) continue;
+                pending.add(executor.submit(() -> solveLine(puzzle)));
+                if (pending.size() >= threads * WINDOW_PER_THREAD) write(pending.poll(), writer, summary);
+            }
+            while (!pending.isEmpty()) write(pending.poll(), writer, summary);
+            writer.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private void write(Future<Result> pending, BufferedWriter writer, Summary summary) throws IOException {
+        Result result;
+        try {
+            result = pending.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch solve interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("Batch solve failed", ex.getCause());
+        }
+        summary.count(result.status);
+        writer.write(result.line);
+        writer.newLine();
+    }
+
+    private Result solveLine(String puzzle) {
+        long start = System.nanoTime();
+        int[] cells = parse(puzzle);
+        String status;
+        String solution = "";
+        if (cells == null) {
+            status = "INVALID";
+        } else {
+            BitboardSolver solver = solvers.get();
+            int found = solver.countSolutions(cells, 2);
+            if (found == 0) {
+                status = "UNSOLVABLE";
+            } else {
+                status = found == 1 ? "SOLVED" : "MULTIPLE";
+                int[] solved = new int[81];
+                solver.copySolution(solved);
+                StringBuilder sb = new StringBuilder(81);
+                for (int value : solved) sb.append(value);
+                solution = sb.toString();
+            }
+        }
+        long micros = (System.nanoTime() - start) / 1_000;
+        return new Result(status, puzzle + ',' + status + ',' + solution + ',' + micros);
+    }
+
+    /** Parses an 81-character puzzle line, returning {@code null} when it is malformed. */
+    private static int[] parse(String puzzle) {
+        if (puzzle.length() != 81) return null;
+        int[] cells = new int[81];
+        for (int i = 0; i < 81; i++) {
+            char ch = puzzle.charAt(i);
+            if (ch == '.') cells[i] = 0;
+            else if (ch >= '0' && ch <= '9') cells[i] = ch - '0';
+            else return null;
+        }
+        return cells;
+    }
+
+    /** Output line of one puzzle together with its status. */
+    private static final class Result {
+        private final String status;
+        private final String line;
+
+        private Result(String status, String line) {
+            this.status = status;
+            this.line = line;
+        }
+    }
+
+    /** Per-status totals of a batch run. */
+    public static final class Summary {
+        private long solved;
+        private long multiple;
+        private long unsolvable;
+        private long invalid;
+        private long elapsedNanos;
+
+        private void count(String status) {
+            switch (status) {
+                case "SOLVED" -> solved++;
+                case "MULTIPLE" -> multiple++;
+                case "UNSOLVABLE" -> unsolvable++;
+                default -> invalid++;
+            }
+        }
+
+        public long getTotal() {
+            return solved + multiple + unsolvable + invalid;
+        }
+
+        public long getSolved() {
+            return solved;
+        }
+
+        public long getMultiple() {
+            return multiple;
+        }
+
+        public long getUnsolvable() {
+            return unsolvable;
+        }
+
+        public long getInvalid() {
+            return invalid;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return getTotal() + " puzzles in " + elapsedNanos / 1_000_000 + " ms: " + solved + " solved, "
+                    + multiple + " multiple, " + unsolvable + " unsolvable, " + invalid + " invalid";
+        }
+    }
+}
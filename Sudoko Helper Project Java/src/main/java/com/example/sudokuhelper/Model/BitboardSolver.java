@@ -0,0 +1,173 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.ALL_DIGITS;
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+
+/**
+ * Bitmask based Sudoku search engine.
+ * <p>Row, column and box occupancy are kept as 9-bit masks so a candidate test is a
+ * single OR. The search always branches on the empty cell with the fewest candidates
+ * (MRV) and only touches the preallocated arrays below, so nothing is allocated while
+ * searching. Instances are reusable but not thread-safe.</p>
+ * <p>A search can be bounded by a node budget and observed or stopped through a
+ * {@link SearchMonitor}, which {@link ParallelSolver} and the background solve of
+ * {@link SudokuModel} use to cancel, time-limit and report on it.</p>
+ */
+public final class BitboardSolver implements SolverStrategy {
+
+    private final int[] cells = new int[81];
+    private final int[] rowUsed = new int[9];
+    private final int[] colUsed = new int[9];
+    private final int[] boxUsed = new int[9];
+    private final int[] empty = new int[81];
+    private final int[] solution = new int[81];
+    private int emptyCount;
+    private int limit;
+    private int found;
+    private long nodes;
+    private long nodeLimit = Long.MAX_VALUE;
+    private SearchMonitor monitor;
+    private boolean aborted;
+
+    /**
+     * Solves {@code board} in-place.
+     * @param board a 9x9 int matrix where 0 represents an empty cell
+     * @return {@code true} when a solution was found and written to the board;
+     *         {@code false} when the givens conflict or no solution exists (board left untouched)
+     */
+    @Override
+    public boolean solve(int[][] board) {
+        if (run(board, 1) == 0) return false;
+        for (int cell = 0; cell < 81; cell++) board[ROW[cell]][COL[cell]] = solution[cell];
+        return true;
+    }
+
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return limit <= 0 ? 0 : run(board, limit);
+    }
+
+    /**
+     * Counts solutions of a flat row-major grid of 81 values.
+     * @param grid 81 cell values, 0 for empty cells; not modified
+     * @param limit maximum number of solutions to look for
+     * @return number of solutions found before the limit, the node budget or the monitor ended the search
+     */
+    int countSolutions(int[] grid, int limit) {
+        System.arraycopy(grid, 0, cells, 0, 81);
+        return start(limit);
+    }
+
+    /** Copies the first solution found by the last call into {@code dest} (81 row-major values). */
+    void copySolution(int[] dest) {
+        System.arraycopy(solution, 0, dest, 0, 81);
+    }
+
+    /** Limits the number of search nodes per call; the search is aborted once it is exceeded. */
+    void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /** Registers a monitor that is polled every 1024 nodes and may abort the search. */
+    void setMonitor(SearchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /** Returns {@code true} when the last call ended early because of the node budget or the monitor. */
+    boolean wasAborted() {
+        return aborted;
+    }
+
+    private int run(int[][] board, int limit) {
+        for (int cell = 0; cell < 81; cell++) cells[cell] = board[ROW[cell]][COL[cell]];
+        return start(limit);
+    }
+
+    private int start(int limit) {
+        this.limit = limit;
+        found = 0;
+        nodes = 0;
+        aborted = false;
+        if (load()) search(0);
+        return found;
+    }
+
+    /** Loads {@code cells} into the masks; returns {@code false} on out-of-range or conflicting givens. */
+    private boolean load() {
+        for (int i = 0; i < 9; i++) {
+            rowUsed[i] = 0;
+            colUsed[i] = 0;
+            boxUsed[i] = 0;
+        }
+        emptyCount = 0;
+        for (int cell = 0; cell < 81; cell++) {
+            int value = cells[cell];
+            if (value == 0) {
+                empty[emptyCount++] = cell;
+                continue;
+            }
+            if (value < 0 || value > 9) return false;
+            int bit = 1 << (value - 1);
+            int r = ROW[cell], c = COL[cell], b = BOX[cell];
+            if (((rowUsed[r] | colUsed[c] | boxUsed[b]) & bit) != 0) return false;
+            rowUsed[r] |= bit;
+            colUsed[c] |= bit;
+            boxUsed[b] |= bit;
+        }
+        return true;
+    }
+
+    /**
+     * Fills {@code empty[depth..emptyCount)}; the cells before {@code depth} are already placed.
+     * @return {@code true} once {@code limit} solutions have been found and the search should stop
+     */
+    private boolean search(int depth) {
+        if (++nodes > nodeLimit || ((nodes & 1023) == 0 && monitor != null && !monitor.proceed(nodes, depth))) {
+            aborted = true;
+            return true;
+        }
+        if (depth == emptyCount) {
+            if (found++ == 0) System.arraycopy(cells, 0, solution, 0, 81);
+            return found >= limit;
+        }
+
+        int best = depth;
+        int bestMask = 0;
+        int bestCount = 10;
+        for (int i = depth; i < emptyCount; i++) {
+            int cell = empty[i];
+            int mask = ~(rowUsed[ROW[cell]] | colUsed[COL[cell]] | boxUsed[BOX[cell]]) & ALL_DIGITS;
+            int count = Integer.bitCount(mask);
+            if (count < bestCount) {
+                best = i;
+                bestMask = mask;
+                bestCount = count;
+                if (count <= 1) break;
+            }
+        }
+        if (bestCount == 0) return false;
+
+        int cell = empty[best];
+        empty[best] = empty[depth];
+        empty[depth] = cell;
+        int r = ROW[cell], c = COL[cell], b = BOX[cell];
+
+        int mask = bestMask;
+        while (mask != 0) {
+            int bit = mask & -mask;
+            mask ^= bit;
+            rowUsed[r] |= bit;
+            colUsed[c] |= bit;
+            boxUsed[b] |= bit;
+            cells[cell] = CellIndex.digitOf(bit);
+            if (search(depth + 1)) return true;
+            rowUsed[r] ^= bit;
+            colUsed[c] ^= bit;
+            boxUsed[b] ^= bit;
+        }
+        cells[cell] = 0;
+        return false;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.sudokuhelper.Model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Imports large files of one-line puzzles as compact 81-byte records.
+ * <p>Each line holds 81 characters, digits with {@code 0} or {@code .} for blanks, optionally
+ * followed by a space, tab or comma and further text (such as a grade), which is ignored.
+ * Blank lines and lines starting with {@code #} are skipped; {@code \r\n} line ends are
+ * accepted. A record holds the cell values 0..9 in row-major order.</p>
+ * <p>The file is memory-mapped in windows of at most 1 GB and parsed by a byte scanner
+ * working on 64 KB blocks copied out of the mapping, so no characters or strings are
+ * decoded. The records are exposed through an ordered {@link Spliterator} that splits at
+ * line boundaries near the middle of its byte range, which lets a parallel stream
+ * hand each worker its own part of the file.</p>
+ */
+public final class BulkImporter {
+
+    /** Bytes per record, one per cell. */
+    public static final int RECORD_SIZE = 81;
+    /** Largest region mapped at once. */
+    static final int WINDOW_SIZE = 1 << 30;
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+    /** Ranges smaller than this are not split further. */
+    private static final long MIN_SPLIT = 1 << 20;
+    /** Typical line length, used for size estimates. */
+    private static final int LINE_ESTIMATE = RECORD_SIZE + 1;
+
+    private BulkImporter() {
+        // utility
+    }
+
+    /**
+     * Streams the records of {@code file}. The stream is sequential; call
+     * {@link Stream#parallel()} to parse and consume it on several threads. Close the stream
+     * (for example with try-with-resources) to release the file.
+     * @param file puzzle file
+     * @return ordered stream of 81-byte records
+     * @throws IOException when the file can't be opened
+     * @throws UncheckedIOException during traversal, when reading fails or a line is malformed
+     */
+    public static Stream<byte[]> stream(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return StreamSupport.stream(new RecordSpliterator(channel, 0, channel.size()), false)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Converts a record to a 9x9 grid.
+     * @param record 81 cell values in row-major order
+     * @return a new 9x9 int matrix
+     */
+    public static int[][] toGrid(byte[] record) {
+        if (record.length != RECORD_SIZE) throw new IllegalArgumentException("Record must hold 81 cells");
+        int[][] grid = new int[9][9];
+        for (int cell = 0; cell < RECORD_SIZE; cell++) grid[cell / 9][cell % 9] = record[cell];
+        return grid;
+    }
+
+    /**
+     * Records of the lines in the byte range [{@code start}, {@code end}) of a file. Both ends
+     * lie on line starts (or the end of the file), so splits never cut a line in two.
+     */
+    private static final class RecordSpliterator implements Spliterator<byte[]> {
+
+        private final FileChannel channel;
+        private long start;
+        private final long end;
+
+        // traversal state: the current mapped window and the block copied out of it
+        private MappedByteBuffer window;
+        private long windowStart;
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private int blockLength;
+        private int blockPos;
+        private long blockStart;
+
+        RecordSpliterator(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super byte[]> action) {
+            byte[] record = next();
+            if (record == null) return false;
+            action.accept(record);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super byte[]> action) {
+            for (byte[] record = next(); record != null; record = next()) action.accept(record);
+        }
+
+        @Override
+        public Spliterator<byte[]> trySplit() {
+            // only split before traversal has started
+            if (window != null || end - start < MIN_SPLIT) return null;
+            long split = lineStartAfter(start + (end - start) / 2);
+            if (split <= start || split >= end) return null;
+            RecordSpliterator prefix = new RecordSpliterator(channel, start, split);
+            start = split;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(0, end - start) / LINE_ESTIMATE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        /** Returns the position just after the first line end at or after {@code position}, or {@code end}. */
+        private long lineStartAfter(long position) {
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            try {
+                for (long at = position; at < end; ) {
+                    buffer.clear();
+                    int read = channel.read(buffer, at);
+                    if (read <= 0) break;
+                    for (int i = 0; i < read; i++) {
+                        if (buffer.get(i) == '\n') return at + i + 1;
+                    }
+                    at += read;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return end;
+        }
+
+        /** Parses the next record, or returns {@code null} at the end of the range. */
+        private byte[] next() {
+            if (window == null) {
+                if (start >= end) return null;
+                load(start);
+            }
+            while (true) {
+                if (blockPos == blockLength) {
+                    long next = blockStart + blockLength;
+                    if (next >= end) return null;
+                    load(next);
+                }
+                int from = blockPos;
+                if (from + RECORD_SIZE < blockLength && block[from + RECORD_SIZE] == '\n') {
+                    // common case of a bare 81-character line: no need to search for its end
+                    blockPos = from + RECORD_SIZE + 1;
+                    byte[] record = parse(from, from + RECORD_SIZE);
+                    if (record != null) return record;
+                    continue;
+                }
+                int lineEnd = indexOf('\n', from);
+                if (lineEnd < 0 && blockStart + blockLength < end) {
+                    // the line continues past this block: reload the block from the line start
+                    if (from == 0) throw malformed(0);
+                    load(blockStart + from);
+                    continue;
+                }
+                int stop = lineEnd < 0 ? blockLength : lineEnd;
+                blockPos = lineEnd < 0 ? blockLength : lineEnd + 1;
+                byte[] record = parse(from, stop);
+                if (record != null) return record;
+            }
+        }
+
+        /** Parses the line {@code block[from, stop)}, returning {@code null} for blank and comment lines. */
+        private byte[] parse(int from, int stop) {
+            if (stop > from && block[stop - 1] == '\r') stop--;
+            if (from == stop || block[from] == '#') return null;
+            if (stop - from < RECORD_SIZE || (stop - from > RECORD_SIZE && !isSeparator(block[from + RECORD_SIZE]))) {
+                throw malformed(from);
+            }
+            byte[] record = new byte[RECORD_SIZE];
+            for (int i = 0; i < RECORD_SIZE; i++) {
+                int value = block[from + i] - '0';
+                if (value >= 0 && value <= 9) record[i] = (byte) value;
+                else if (block[from + i] != '.') throw malformed(from);
+            }
+            return record;
+        }
+
+        private UncheckedIOException malformed(int from) {
+            return new UncheckedIOException(new IOException("Malformed puzzle line at byte " + (blockStart + from)));
+        }
+
+        private static boolean isSeparator(byte b) {
+            return b == ' ' || b == '\t' || b == ',';
+        }
+
+        private int indexOf(int b, int from) {
+            for (int i = from; i < blockLength; i++) if (block[i] == b) return i;
+            return -1;
+        }
+
+        /** Copies the block starting at {@code position}, mapping a new window when it leaves the current one. */
+        private void load(long position) {
+            if (window == null || position + BLOCK_SIZE > windowStart + window.capacity() && windowStart + window.capacity() < end) {
+                map(position);
+            }
+            int offset = (int) (position - windowStart);
+            int length = (int) Math.min(BLOCK_SIZE, windowStart + window.capacity() - position);
+            window.get(offset, block, 0, length);
+            blockStart = position;
+            blockLength = length;
+            blockPos = 0;
+        }
+
+        private void map(long position) {
+            long size = Math.min(WINDOW_SIZE, end - position);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            windowStart = position;
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.sudokuhelper.Model;
 
+import static com.example.sudokuhelper.Model.CellIndex.ALL_DIGITS;
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+
 import java.util.ArrayList;
 import java.util.List;
 
-/** Utility that computes candidate values for an empty board cell. */
+/**
+ * Utility that computes candidate values for empty board cells.
+ * <p>Candidates are available as 9-bit masks (bit {@code d-1} set when digit {@code d}
+ * is allowed) for allocation-free callers, or as lists of digits.</p>
+ */
 public class CandidateAnalyzer {
 
     /**
@@ -14,19 +23,62 @@ public class CandidateAnalyzer {
      * @return list of candidate digits (1..9). Returns an empty list when cell is non-empty.
      */
     public static List<Integer> analyze(int[][] board, int row, int col) {
-        List<Integer> candidates = new ArrayList<>();
-        if (board[row][col] != 0) return candidates;
+        return toList(candidateMask(board, row, col));
+    }
 
-        boolean[] used = new boolean[9];
-        for (int c = 0; c < 9; c++) if (board[row][c] != 0) used[board[row][c] - 1] = true;
-        for (int r = 0; r < 9; r++) if (board[r][col] != 0) used[board[r][col] - 1] = true;
+    /**
+     * Computes the candidate mask for the cell at ({@code row},{@code col}).
+     * @param board 9x9 board
+     * @param row row index
+     * @param col column index
+     * @return 9-bit candidate mask, or 0 when the cell is non-empty
+     */
+    public static int candidateMask(int[][] board, int row, int col) {
+        if (board[row][col] != 0) return 0;
+
+        int used = 0;
+        for (int i = 0; i < 9; i++) used |= bit(board[row][i]) | bit(board[i][col]);
         int boxRow = (row / 3) * 3;
         int boxCol = (col / 3) * 3;
         for (int r = boxRow; r < boxRow + 3; r++)
             for (int c = boxCol; c < boxCol + 3; c++)
-                if (board[r][c] != 0) used[board[r][c] - 1] = true;
+                used |= bit(board[r][c]);
+        return ~used & ALL_DIGITS;
+    }
 
-        for (int n = 0; n < 9; n++) if (!used[n]) candidates.add(n + 1);
+    /**
+     * Computes the candidate masks of the whole board in one pass.
+     * @param board 9x9 board
+     * @param masks destination of length 81 indexed row-major; non-empty cells receive 0
+     */
+    public static void fillCandidateMasks(int[][] board, short[] masks) {
+        int[] rowUsed = new int[9];
+        int[] colUsed = new int[9];
+        int[] boxUsed = new int[9];
+        for (int cell = 0; cell < 81; cell++) {
+            int b = bit(board[ROW[cell]][COL[cell]]);
+            rowUsed[ROW[cell]] |= b;
+            colUsed[COL[cell]] |= b;
+            boxUsed[BOX[cell]] |= b;
+        }
+        for (int cell = 0; cell < 81; cell++) {
+            masks[cell] = board[ROW[cell]][COL[cell]] != 0 ? 0
+                    : (short) (~(rowUsed[ROW[cell]] | colUsed[COL[cell]] | boxUsed[BOX[cell]]) & ALL_DIGITS);
+        }
+    }
+
+    /**
+     * Converts a candidate mask to the ascending list of digits it contains.
+     * @param mask 9-bit candidate mask
+     * @return list of candidate digits (1..9)
+     */
+    public static List<Integer> toList(int mask) {
+        List<Integer> candidates = new ArrayList<>(Integer.bitCount(mask & ALL_DIGITS));
+        for (int n = 0; n < 9; n++) if ((mask & (1 << n)) != 0) candidates.add(n + 1);
         return candidates;
     }
+
+    private static int bit(int value) {
+        return value >= 1 && value <= 9 ? 1 << (value - 1) : 0;
+    }
 }
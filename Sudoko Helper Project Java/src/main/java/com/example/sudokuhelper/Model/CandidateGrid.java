@@ -0,0 +1,170 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.ALL_DIGITS;
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.PEERS;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintained candidate masks for a 9x9 board.
+ * <p>Per-unit digit counts are kept so boards containing duplicate entries (which a
+ * player may type) are handled correctly. Changing one cell only refreshes that cell
+ * and its 20 peers; reading a candidate mask is a single array access.</p>
+ * <p>Candidates removed by elimination hints are kept in a separate layer. Placing a value
+ * keeps them, since deductions stay valid when more cells are filled; clearing or
+ * overwriting a value discards the whole layer.</p>
+ */
+public final class CandidateGrid {
+
+    private final int[] values = new int[81];
+    private final byte[] rowCount = new byte[81];
+    private final byte[] colCount = new byte[81];
+    private final byte[] boxCount = new byte[81];
+    private final int[] rowUsed = new int[9];
+    private final int[] colUsed = new int[9];
+    private final int[] boxUsed = new int[9];
+    private final short[] candidates = new short[81];
+    private final short[] eliminated = new short[81];
+
+    /** Creates an empty grid where every cell allows all nine digits. */
+    public CandidateGrid() {
+        Arrays.fill(candidates, (short) ALL_DIGITS);
+    }
+
+    /**
+     * Returns an independent copy, including eliminated candidates.
+     * @return a new grid in the same state
+     */
+    public CandidateGrid copy() {
+        CandidateGrid copy = new CandidateGrid();
+        System.arraycopy(values, 0, copy.values, 0, 81);
+        System.arraycopy(rowCount, 0, copy.rowCount, 0, 81);
+        System.arraycopy(colCount, 0, copy.colCount, 0, 81);
+        System.arraycopy(boxCount, 0, copy.boxCount, 0, 81);
+        System.arraycopy(rowUsed, 0, copy.rowUsed, 0, 9);
+        System.arraycopy(colUsed, 0, copy.colUsed, 0, 9);
+        System.arraycopy(boxUsed, 0, copy.boxUsed, 0, 9);
+        System.arraycopy(candidates, 0, copy.candidates, 0, 81);
+        System.arraycopy(eliminated, 0, copy.eliminated, 0, 81);
+        return copy;
+    }
+
+    /**
+     * Rebuilds the whole structure from {@code board}.
+     * @param board 9x9 board, 0 for empty cells
+     */
+    public void load(int[][] board) {
+        Arrays.fill(values, 0);
+        Arrays.fill(rowCount, (byte) 0);
+        Arrays.fill(colCount, (byte) 0);
+        Arrays.fill(boxCount, (byte) 0);
+        Arrays.fill(eliminated, (short) 0);
+        for (int i = 0; i < 9; i++) {
+            rowUsed[i] = 0;
+            colUsed[i] = 0;
+            boxUsed[i] = 0;
+        }
+        for (int cell = 0; cell < 81; cell++) {
+            values[cell] = board[ROW[cell]][COL[cell]];
+            add(cell, values[cell]);
+        }
+        for (int cell = 0; cell < 81; cell++) refresh(cell);
+    }
+
+    /**
+     * Sets a single cell and updates the candidates of the cell and its peers.
+     * @param cell row-major cell index (0..80)
+     * @param value new value, 0 to clear
+     * @return {@code true} if the value changed
+     */
+    public boolean set(int cell, int value) {
+        int old = values[cell];
+        if (old == value) return false;
+        remove(cell, old);
+        values[cell] = value;
+        add(cell, value);
+        if (old != 0) {
+            Arrays.fill(eliminated, (short) 0);
+            for (int other = 0; other < 81; other++) refresh(other);
+            return true;
+        }
+        // filling an empty cell only rules its value out for the peers
+        short keep = (short) ~(1 << value - 1);
+        candidates[cell] = 0;
+        for (int peer : PEERS[cell]) candidates[peer] &= keep;
+        return true;
+    }
+
+    /**
+     * Removes candidates from a cell without changing any value.
+     * @param cell row-major cell index (0..80)
+     * @param mask candidates to remove (bit {@code d-1} for digit {@code d})
+     * @return {@code true} if a candidate was removed
+     */
+    public boolean eliminate(int cell, int mask) {
+        int remaining = candidates[cell] & ~mask;
+        eliminated[cell] |= (short) mask;
+        if (remaining == candidates[cell]) return false;
+        candidates[cell] = (short) remaining;
+        return true;
+    }
+
+    /**
+     * Applies a hint: places its value or removes its eliminated candidates.
+     * @param hint hint found on this grid
+     * @return {@code true} if the grid changed
+     */
+    public boolean apply(Hint hint) {
+        if (!hint.isElimination()) return set(hint.getRow() * 9 + hint.getCol(), hint.getValue());
+        short[] masks = hint.eliminations();
+        boolean changed = false;
+        for (int cell = 0; cell < 81; cell++) {
+            if (masks[cell] != 0) changed |= eliminate(cell, masks[cell]);
+        }
+        return changed;
+    }
+
+    /** Returns the value stored at {@code cell} (0 when empty). */
+    public int get(int cell) {
+        return values[cell];
+    }
+
+    /**
+     * Returns the candidate mask of {@code cell}: bit {@code d-1} is set when digit {@code d}
+     * is not used by any peer. Filled cells have mask 0.
+     */
+    public int candidates(int cell) {
+        return candidates[cell];
+    }
+
+    /** Exposes the live mask array for read-only bulk scans inside the model package. */
+    short[] masks() {
+        return candidates;
+    }
+
+    private void add(int cell, int value) {
+        if (value < 1 || value > 9) return;
+        int d = value - 1;
+        int bit = 1 << d;
+        if (rowCount[ROW[cell] * 9 + d]++ == 0) rowUsed[ROW[cell]] |= bit;
+        if (colCount[COL[cell] * 9 + d]++ == 0) colUsed[COL[cell]] |= bit;
+        if (boxCount[BOX[cell] * 9 + d]++ == 0) boxUsed[BOX[cell]] |= bit;
+    }
+
+    private void remove(int cell, int value) {
+        if (value < 1 || value > 9) return;
+        int d = value - 1;
+        int bit = 1 << d;
+        if (--rowCount[ROW[cell] * 9 + d] == 0) rowUsed[ROW[cell]] &= ~bit;
+        if (--colCount[COL[cell] * 9 + d] == 0) colUsed[COL[cell]] &= ~bit;
+        if (--boxCount[BOX[cell] * 9 + d] == 0) boxUsed[BOX[cell]] &= ~bit;
+    }
+
+    private void refresh(int cell) {
+        candidates[cell] = values[cell] != 0 ? 0
+                : (short) (~(rowUsed[ROW[cell]] | colUsed[COL[cell]] | boxUsed[BOX[cell]] | eliminated[cell]) & ALL_DIGITS);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.sudokuhelper.Model;
+
+/**
+ * Precomputed lookup tables for flat cell indices (0..80, row-major) and the
+ * bit layout shared by the mask based engines (bit {@code d-1} stands for digit {@code d}).
+ */
+final class CellIndex {
+
+    /** Mask with all nine digit bits set. */
+    static final int ALL_DIGITS = 0x1FF;
+
+    static final int[] ROW = new int[81];
+    static final int[] COL = new int[81];
+    static final int[] BOX = new int[81];
+    /** The 20 cells sharing a row, column or box with each cell. */
+    static final int[][] PEERS = new int[81][20];
+    /** The 27 units: rows 0..8, columns 9..17 and boxes 18..26, each listing its cells in order. */
+    static final int[][] UNITS = new int[27][9];
+
+    static {
+        for (int cell = 0; cell < 81; cell++) {
+            ROW[cell] = cell / 9;
+            COL[cell] = cell % 9;
+            BOX[cell] = (cell / 27) * 3 + (cell % 9) / 3;
+        }
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                UNITS[i][j] = i * 9 + j;
+                UNITS[9 + i][j] = j * 9 + i;
+                UNITS[18 + i][j] = ((i / 3) * 3 + j / 3) * 9 + (i % 3) * 3 + j % 3;
+            }
+        }
+        for (int cell = 0; cell < 81; cell++) {
+            int n = 0;
+            for (int other = 0; other < 81; other++) {
+                if (other != cell && (ROW[other] == ROW[cell] || COL[other] == COL[cell] || BOX[other] == BOX[cell])) {
+                    PEERS[cell][n++] = other;
+                }
+            }
+        }
+    }
+
+    private CellIndex() {
+        // utility
+    }
+
+    /** Returns the digit (1..9) represented by a single-bit {@code mask}. */
+    static int digitOf(int mask) {
+        return Integer.numberOfTrailingZeros(mask) + 1;
+    }
+}
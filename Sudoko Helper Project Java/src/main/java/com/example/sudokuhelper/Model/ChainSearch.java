@@ -0,0 +1,439 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.PEERS;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+import static com.example.sudokuhelper.Model.CellIndex.UNITS;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import com.example.sudokuhelper.Model.Hint.HintType;
+
+/**
+ * Bounded search for chain and coloring eliminations: simple coloring, X-Chains, XY-Chains
+ * and alternating inference chains (AIC), tried in that order.
+ * <p>The candidate graph is never built: a node is a candidate {@code cell * 9 + digit - 1}
+ * and its links are read straight from the 9-bit candidate masks. Strong links join the only
+ * two places of a digit in a unit (conjugate pairs) and the two candidates of a bivalue cell;
+ * weak links join a candidate to the same digit in its peers and to the other candidates of
+ * its cell. Chains grow breadth-first from each start candidate, so the first chain found from
+ * a start is one of the shortest.</p>
+ * <p>Every visited node counts against a budget shared by all techniques of one call. Once it
+ * is spent the call reports no hint and {@link #wasBudgetExhausted()} returns {@code true}, so
+ * a hard board costs a bounded amount of work instead of a search over every chain. An
+ * optional cancellation check is polled every {@value #CANCEL_POLL_NODES} nodes (and by
+ * {@link HintGenerator} between techniques), so a search whose result is no longer wanted
+ * stops early and reports no hint, with {@link #wasCancelled()} set. Instances keep scratch arrays and the outcome of the latest
+ * call; they are reusable but not thread-safe.</p>
+ */
+public final class ChainSearch {
+
+    /** Default maximum number of candidates in a chain. */
+    public static final int DEFAULT_MAX_LENGTH = 16;
+    /** Default number of nodes one call may visit. */
+    public static final int DEFAULT_NODE_BUDGET = 20_000;
+
+    /** Link kinds a chain may use; weak links between the same digit in peers are always allowed. */
+    private static final int CONJUGATE = 1;
+    private static final int BIVALUE = 2;
+    private static final int CELL_WEAK = 4;
+    /** Number of visited nodes between two polls of the cancellation check. */
+    private static final int CANCEL_POLL_NODES = 256;
+
+    /** The row, column and box unit of each cell. */
+    private static final int[][] CELL_UNITS = new int[81][];
+
+    static {
+        for (int cell = 0; cell < 81; cell++) CELL_UNITS[cell] = new int[] {ROW[cell], 9 + COL[cell], 18 + BOX[cell]};
+    }
+
+    private final int maxLength;
+    private final int nodeBudget;
+    private final BooleanSupplier cancellation;
+
+    // chain search state, indexed by node * 2 + (1 when the node is true, 0 when false)
+    private int[] queue;
+    private short[] parent;
+    private byte[] length;
+    private int[] visited;
+    private int stamp;
+
+    // coloring state, indexed by cell
+    private int[] cluster;
+    private int[] clusterOf;
+    private int[] treeParent;
+    private int[] treeDepth;
+    private boolean[] color;
+
+    private short[] masks;
+    private int[] where;
+    private short[] eliminations;
+    private int nodes;
+    private boolean exhausted;
+    private boolean cancelled;
+
+    /** Creates a search with {@link #DEFAULT_MAX_LENGTH} and {@link #DEFAULT_NODE_BUDGET}. */
+    public ChainSearch() {
+        this(DEFAULT_MAX_LENGTH, DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * Creates a search with explicit limits.
+     * @param maxLength maximum number of candidates in a chain (at least 4)
+     * @param nodeBudget maximum number of nodes one call may visit (at least 1)
+     */
+    public ChainSearch(int maxLength, int nodeBudget) {
+        this(maxLength, nodeBudget, () -> false);
+    }
+
+    /**
+     * Creates a search with explicit limits that gives up once {@code cancellation} returns
+     * {@code true}.
+     * @param maxLength maximum number of candidates in a chain (at least 4)
+     * @param nodeBudget maximum number of nodes one call may visit (at least 1)
+     * @param cancellation polled during each call; {@code true} stops it
+     */
+    public ChainSearch(int maxLength, int nodeBudget, BooleanSupplier cancellation) {
+        if (cancellation == null) throw new IllegalArgumentException("Cancellation check must not be null");
+        if (maxLength < 4 || maxLength > 127) throw new IllegalArgumentException("Chain length must be between 4 and 127");
+        if (nodeBudget < 1) throw new IllegalArgumentException("Node budget must be positive");
+        this.maxLength = maxLength;
+        this.nodeBudget = nodeBudget;
+        this.cancellation = cancellation;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getNodeBudget() {
+        return nodeBudget;
+    }
+
+    /** Returns {@code true} when the latest call gave up because its node budget ran out. */
+    public boolean wasBudgetExhausted() {
+        return exhausted;
+    }
+
+    /** Returns {@code true} when the latest call gave up because its cancellation check fired. */
+    public boolean wasCancelled() {
+        return cancelled;
+    }
+
+    /** Returns the number of nodes the latest search visited; simpler techniques that find a hint skip the search. */
+    public int getLastNodes() {
+        return Math.min(nodes, nodeBudget);
+    }
+
+    /**
+     * Looks for a chain or coloring elimination.
+     * @param masks row-major candidate masks
+     * @param where digit positions per unit, as computed by {@link HintGenerator}
+     * @param eliminations zeroed scratch array, only written right before a hit
+     * @return the hint, or {@code null} when none was found, the budget ran out or the search was cancelled
+     */
+    Hint find(short[] masks, int[] where, short[] eliminations) {
+        if (queue == null) allocate();
+        this.masks = masks;
+        this.where = where;
+        this.eliminations = eliminations;
+        try {
+            Hint hint = findColoring();
+            if (hint == null && !exhausted && !cancelled) hint = findChain(HintType.X_CHAIN, CONJUGATE);
+            if (hint == null && !exhausted && !cancelled) hint = findChain(HintType.XY_CHAIN, BIVALUE);
+            if (hint == null && !exhausted && !cancelled) hint = findChain(HintType.ALTERNATING_INFERENCE_CHAIN, CONJUGATE | BIVALUE | CELL_WEAK);
+            return hint;
+        } finally {
+            this.masks = null;
+            this.where = null;
+            this.eliminations = null;
+        }
+    }
+
+    /** Clears the outcome of the previous call; {@link HintGenerator} calls it before trying any technique. */
+    void begin() {
+        nodes = 0;
+        exhausted = false;
+        cancelled = false;
+    }
+
+    /** Polls the cancellation check outside the search, so cheaper techniques can stop early too. */
+    boolean isCancelled() {
+        if (!cancelled && cancellation.getAsBoolean()) cancelled = true;
+        return cancelled;
+    }
+
+    private void allocate() {
+        queue = new int[729 * 2];
+        parent = new short[729 * 2];
+        length = new byte[729 * 2];
+        visited = new int[729 * 2];
+        cluster = new int[81];
+        clusterOf = new int[81];
+        treeParent = new int[81];
+        treeDepth = new int[81];
+        color = new boolean[81];
+    }
+
+    /** Counts one visited node; returns {@code false} once the budget is spent or the search is cancelled. */
+    private boolean spend() {
+        if (++nodes > nodeBudget) {
+            exhausted = true;
+            return false;
+        }
+        if (nodes % CANCEL_POLL_NODES == 0 && cancellation.getAsBoolean()) {
+            cancelled = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Simple coloring: the conjugate pairs of a digit split a cluster of cells into two
+     * alternating colors, one of which holds the digit. Two cells of one color seeing each
+     * other rule that color out (color wrap); a cell seeing both colors can't hold the digit
+     * (color trap).
+     */
+    private Hint findColoring() {
+        for (int d = 0; d < 9; d++) {
+            int bit = 1 << d;
+            Arrays.fill(clusterOf, -1);
+            for (int start = 0; start < 81; start++) {
+                if ((masks[start] & bit) == 0 || clusterOf[start] >= 0) continue;
+                int size = colorCluster(start, d);
+                if (size < 0) return null;
+                if (size < 3) continue;
+
+                for (int i = 0; i < size; i++) {
+                    for (int j = i + 1; j < size; j++) {
+                        int a = cluster[i];
+                        int b = cluster[j];
+                        if (color[a] != color[b] || !HintGenerator.sees(a, b)) continue;
+                        for (int k = 0; k < size; k++) {
+                            if (color[cluster[k]] == color[a]) mark(cluster[k], bit);
+                        }
+                        int[] chain = treePath(a, b, d);
+                        return new Hint(HintType.SIMPLE_COLORING, eliminations, chain, "The conjugate pairs of " + (d + 1)
+                                + " link " + notation(chain, false) + "; both ends get the same color but see each other,"
+                                + " so no cell of that color can be " + (d + 1) + "." + HintGenerator.describe(eliminations));
+                    }
+                }
+
+                int[] chain = null;
+                for (int cell = 0; cell < 81; cell++) {
+                    if ((masks[cell] & bit) == 0 || clusterOf[cell] == start) continue;
+                    int seenTrue = -1;
+                    int seenFalse = -1;
+                    for (int peer : PEERS[cell]) {
+                        if (clusterOf[peer] != start) continue;
+                        if (color[peer]) seenTrue = peer;
+                        else seenFalse = peer;
+                    }
+                    if (seenTrue < 0 || seenFalse < 0) continue;
+                    mark(cell, bit);
+                    if (chain == null) chain = treePath(seenTrue, seenFalse, d);
+                }
+                if (chain != null) {
+                    return new Hint(HintType.SIMPLE_COLORING, eliminations, chain, "The conjugate pairs of " + (d + 1)
+                            + " link " + notation(chain, false) + " in two alternating colors, one of which holds "
+                            + (d + 1) + ", so cells seeing both colors can't be " + (d + 1) + "."
+                            + HintGenerator.describe(eliminations));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Colors the cells reachable from {@code start} through conjugate pairs of digit {@code d},
+     * tagging them with {@code start} in {@link #clusterOf}.
+     * @return the cluster size, or -1 when the budget ran out
+     */
+    private int colorCluster(int start, int d) {
+        int size = 0;
+        cluster[size++] = start;
+        clusterOf[start] = start;
+        color[start] = true;
+        treeParent[start] = -1;
+        treeDepth[start] = 0;
+        for (int i = 0; i < size; i++) {
+            if (!spend()) return -1;
+            int cell = cluster[i];
+            for (int unit : CELL_UNITS[cell]) {
+                int other = conjugate(cell, unit, d);
+                if (other < 0 || clusterOf[other] == start) continue;
+                cluster[size++] = other;
+                clusterOf[other] = start;
+                color[other] = !color[cell];
+                treeParent[other] = cell;
+                treeDepth[other] = treeDepth[cell] + 1;
+            }
+        }
+        return size;
+    }
+
+    /** Returns the chain from {@code a} to {@code b} through the coloring tree. */
+    private int[] treePath(int a, int b, int d) {
+        int[] up = new int[81];
+        int[] down = new int[81];
+        int ups = 0;
+        int downs = 0;
+        while (treeDepth[a] > treeDepth[b]) { up[ups++] = a; a = treeParent[a]; }
+        while (treeDepth[b] > treeDepth[a]) { down[downs++] = b; b = treeParent[b]; }
+        while (a != b) {
+            up[ups++] = a;
+            a = treeParent[a];
+            down[downs++] = b;
+            b = treeParent[b];
+        }
+        up[ups++] = a;
+        int[] chain = new int[ups + downs];
+        for (int i = 0; i < ups; i++) chain[i] = up[i] * 9 + d;
+        for (int i = 0; i < downs; i++) chain[ups + i] = down[downs - 1 - i] * 9 + d;
+        return chain;
+    }
+
+    /**
+     * Grows alternating chains breadth-first from every candidate. Starting from "the first
+     * candidate is false", strong links make the next candidate true and weak links make the
+     * one after false; whenever a candidate is reached as true, one of the two ends must be
+     * true, so candidates weakly linked to both ends are eliminated.
+     */
+    private Hint findChain(HintType type, int links) {
+        for (int start = 0; start < 729; start++) {
+            if ((masks[start / 9] & 1 << start % 9) == 0) continue;
+            if (++stamp == 0) {
+                Arrays.fill(visited, 0);
+                stamp = 1;
+            }
+            int head = 0;
+            int tail = 0;
+            int first = start << 1;
+            visited[first] = stamp;
+            parent[first] = -1;
+            length[first] = 1;
+            queue[tail++] = first;
+            while (head < tail) {
+                if (!spend()) return null;
+                int state = queue[head++];
+                if (length[state] == maxLength) continue;
+                int node = state >> 1;
+                int cell = node / 9;
+                int d = node % 9;
+                if ((state & 1) == 0) {
+                    // node is false: a strong link makes its partner true
+                    if ((links & CONJUGATE) != 0) {
+                        for (int unit : CELL_UNITS[cell]) {
+                            int other = conjugate(cell, unit, d);
+                            if (other < 0) continue;
+                            int next = (other * 9 + d) << 1 | 1;
+                            if (reach(state, next)) {
+                                queue[tail++] = next;
+                                Hint hint = endpoint(type, start, next);
+                                if (hint != null) return hint;
+                            }
+                        }
+                    }
+                    int cellMask = masks[cell];
+                    if ((links & BIVALUE) != 0 && Integer.bitCount(cellMask) == 2) {
+                        int next = (cell * 9 + Integer.numberOfTrailingZeros(cellMask & ~(1 << d))) << 1 | 1;
+                        if (reach(state, next)) {
+                            queue[tail++] = next;
+                            Hint hint = endpoint(type, start, next);
+                            if (hint != null) return hint;
+                        }
+                    }
+                } else {
+                    // node is true: weak links make their partners false
+                    for (int peer : PEERS[cell]) {
+                        int next = (peer * 9 + d) << 1;
+                        if ((masks[peer] & 1 << d) != 0 && reach(state, next)) queue[tail++] = next;
+                    }
+                    if ((links & CELL_WEAK) != 0) {
+                        for (int others = masks[cell] & ~(1 << d); others != 0; others &= others - 1) {
+                            int next = (cell * 9 + Integer.numberOfTrailingZeros(others)) << 1;
+                            if (reach(state, next)) queue[tail++] = next;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Records {@code next} as reached from {@code state}; returns {@code false} if it was already reached. */
+    private boolean reach(int state, int next) {
+        if (visited[next] == stamp) return false;
+        visited[next] = stamp;
+        parent[next] = (short) state;
+        length[next] = (byte) (length[state] + 1);
+        return true;
+    }
+
+    /** Turns a chain from {@code start} (false) to the true state {@code end} into a hint when it eliminates anything. */
+    private Hint endpoint(HintType type, int start, int end) {
+        int last = end >> 1;
+        if (length[end] < 4 || last == start || !markEliminations(start, last)) return null;
+        int[] chain = new int[length[end]];
+        for (int state = end, i = chain.length - 1; i >= 0; state = parent[state], i--) chain[i] = state >> 1;
+        String text = notation(chain, true);
+        String explanation = switch (type) {
+            case X_CHAIN -> "X-Chain on " + (start % 9 + 1) + ": " + text + ". One of its ends is " + (start % 9 + 1)
+                    + ", so cells seeing both ends can't be " + (start % 9 + 1) + ".";
+            case XY_CHAIN -> "XY-Chain through bivalue cells: " + text + ". If the first candidate is false the last one"
+                    + " is true, so candidates conflicting with both ends can be removed.";
+            default -> "Alternating inference chain: " + text + ". If the first candidate is false the last one is"
+                    + " true, so candidates conflicting with both ends can be removed.";
+        };
+        return new Hint(type, eliminations, chain, explanation + HintGenerator.describe(eliminations));
+    }
+
+    /** Marks every candidate weakly linked to both chain ends; returns whether there was one. */
+    private boolean markEliminations(int start, int end) {
+        int startCell = start / 9;
+        int endCell = end / 9;
+        int startBit = 1 << start % 9;
+        int endBit = 1 << end % 9;
+        boolean found = false;
+        if (startBit == endBit) {
+            for (int peer : PEERS[startCell]) {
+                if (peer != endCell && HintGenerator.sees(peer, endCell)) found |= mark(peer, startBit);
+            }
+        } else if (startCell == endCell) {
+            found = mark(startCell, ~(startBit | endBit));
+        } else if (HintGenerator.sees(startCell, endCell)) {
+            found = mark(startCell, endBit);
+            found |= mark(endCell, startBit);
+        }
+        return found;
+    }
+
+    /** Removes the candidates of {@code cell} selected by {@code mask}; returns whether there were any. */
+    private boolean mark(int cell, int mask) {
+        int removed = masks[cell] & mask;
+        if (removed == 0) return false;
+        eliminations[cell] = (short) removed;
+        return true;
+    }
+
+    /** Returns the other place of digit {@code d} in {@code unit} when it fits in exactly two cells there, else -1. */
+    private int conjugate(int cell, int unit, int d) {
+        int positions = where[unit * 9 + d];
+        if (Integer.bitCount(positions) != 2) return -1;
+        int[] cells = UNITS[unit];
+        int a = cells[Integer.numberOfTrailingZeros(positions)];
+        return a != cell ? a : cells[31 - Integer.numberOfLeadingZeros(positions)];
+    }
+
+    /** Writes a chain as "5 in (1, 2) = 5 in (1, 7) - ...", with "=" for strong and "-" for weak links. */
+    private static String notation(int[] chain, boolean alternating) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < chain.length; i++) {
+            if (i > 0) text.append(!alternating || i % 2 == 1 ? " = " : " - ");
+            text.append(chain[i] % 9 + 1).append(" in ").append(HintGenerator.cellName(chain[i] / 9));
+        }
+        return text.toString();
+    }
+}
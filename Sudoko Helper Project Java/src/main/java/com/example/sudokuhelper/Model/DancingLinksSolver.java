@@ -0,0 +1,189 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+
+/**
+ * Exact-cover Sudoku solver using Knuth's Algorithm X with dancing links.
+ * <p>The 729-row x 324-column constraint matrix (cell, row-digit, column-digit and
+ * box-digit constraints) is built once per instance in flat int arrays. Each call
+ * selects the rows of the givens, searches, and then unlinks everything again in
+ * reverse order, so the same matrix is reused across calls without reallocation.
+ * Instances are not thread-safe.</p>
+ */
+public final class DancingLinksSolver implements SolverStrategy {
+
+    private static final int COLUMNS = 324;
+    private static final int ROWS = 729;
+    private static final int ROOT = 0;
+    private static final int NODES = 1 + COLUMNS + ROWS * 4;
+
+    private final int[] left = new int[NODES];
+    private final int[] right = new int[NODES];
+    private final int[] up = new int[NODES];
+    private final int[] down = new int[NODES];
+    private final int[] column = new int[NODES];
+    private final int[] rowOf = new int[NODES];
+    private final int[] size = new int[COLUMNS + 1];
+    private final int[] rowStart = new int[ROWS];
+
+    private final int[] selected = new int[81];
+    private final int[] givens = new int[81];
+    private final int[] solutionRows = new int[81];
+    private int solutionLength;
+    private int limit;
+    private int found;
+
+    public DancingLinksSolver() {
+        build();
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        if (run(board, 1) == 0) return false;
+        for (int i = 0; i < solutionLength; i++) {
+            int row = solutionRows[i];
+            int cell = row / 9;
+            board[ROW[cell]][COL[cell]] = row % 9 + 1;
+        }
+        return true;
+    }
+
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return limit <= 0 ? 0 : run(board, limit);
+    }
+
+    private int run(int[][] board, int limit) {
+        this.limit = limit;
+        found = 0;
+        int givenCount = 0;
+        boolean consistent = true;
+        for (int cell = 0; cell < 81 && consistent; cell++) {
+            int value = board[ROW[cell]][COL[cell]];
+            if (value == 0) continue;
+            if (value < 0 || value > 9 || !isAvailable(rowStart[cell * 9 + value - 1])) {
+                consistent = false;
+            } else {
+                int first = rowStart[cell * 9 + value - 1];
+                selectRow(first);
+                givens[givenCount++] = first;
+            }
+        }
+        if (consistent) search(0);
+        while (givenCount > 0) unselectRow(givens[--givenCount]);
+        return found;
+    }
+
+    /** Returns {@code true} when none of the columns of the row starting at {@code first} are covered. */
+    private boolean isAvailable(int first) {
+        int j = first;
+        do {
+            int c = column[j];
+            if (right[left[c]] != c) return false;
+            j = right[j];
+        } while (j != first);
+        return true;
+    }
+
+    /** @return {@code true} once {@code limit} solutions have been found and the search should stop */
+    private boolean search(int depth) {
+        if (right[ROOT] == ROOT) {
+            if (found++ == 0) {
+                for (int i = 0; i < depth; i++) solutionRows[i] = rowOf[selected[i]];
+                solutionLength = depth;
+            }
+            return found >= limit;
+        }
+
+        int best = right[ROOT];
+        for (int c = right[best]; c != ROOT && size[best] > 1; c = right[c]) {
+            if (size[c] < size[best]) best = c;
+        }
+        if (size[best] == 0) return false;
+
+        cover(best);
+        boolean stop = false;
+        for (int r = down[best]; r != best && !stop; r = down[r]) {
+            selected[depth] = r;
+            for (int j = right[r]; j != r; j = right[j]) cover(column[j]);
+            stop = search(depth + 1);
+            for (int j = left[r]; j != r; j = left[j]) uncover(column[j]);
+        }
+        uncover(best);
+        return stop;
+    }
+
+    private void selectRow(int first) {
+        cover(column[first]);
+        for (int j = right[first]; j != first; j = right[j]) cover(column[j]);
+    }
+
+    private void unselectRow(int first) {
+        for (int j = left[first]; j != first; j = left[j]) uncover(column[j]);
+        uncover(column[first]);
+    }
+
+    private void cover(int c) {
+        left[right[c]] = left[c];
+        right[left[c]] = right[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        left[right[c]] = c;
+        right[left[c]] = c;
+    }
+
+    private void build() {
+        for (int c = 0; c <= COLUMNS; c++) {
+            left[c] = c - 1;
+            right[c] = c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+        left[ROOT] = COLUMNS;
+        right[COLUMNS] = ROOT;
+
+        int node = COLUMNS + 1;
+        for (int row = 0; row < ROWS; row++) {
+            int cell = row / 9;
+            int digit = row % 9;
+            int first = node;
+            for (int k = 0; k < 4; k++) {
+                int c = 1 + switch (k) {
+                    case 0 -> cell;
+                    case 1 -> 81 + ROW[cell] * 9 + digit;
+                    case 2 -> 162 + COL[cell] * 9 + digit;
+                    default -> 243 + BOX[cell] * 9 + digit;
+                };
+                column[node] = c;
+                rowOf[node] = row;
+                up[node] = up[c];
+                down[node] = c;
+                down[up[c]] = node;
+                up[c] = node;
+                size[c]++;
+                left[node] = first + (k + 3) % 4;
+                right[node] = first + (k + 1) % 4;
+                node++;
+            }
+            rowStart[row] = first;
+        }
+    }
+}
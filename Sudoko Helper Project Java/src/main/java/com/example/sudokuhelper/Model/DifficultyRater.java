@@ -0,0 +1,92 @@
+package com.example.sudokuhelper.Model;
+
+import java.util.Optional;
+
+import com.example.sudokuhelper.Model.Hint.HintType;
+
+/**
+ * Rates puzzles by solving them with the logical techniques of {@link HintGenerator} only.
+ * <p>Each step asks the generator for its next hint on an incrementally maintained
+ * {@link CandidateGrid} and applies it, so rating an easy puzzle costs a few dozen hint
+ * scans rather than repeated whole-board analyses.</p>
+ */
+public final class DifficultyRater {
+
+    /** Grade of puzzles the available techniques cannot finish (they need guessing). */
+    public static final double UNSOLVED_GRADE = 10.0;
+
+    private DifficultyRater() {
+        // utility
+    }
+
+    /**
+     * Rates {@code puzzle} completely.
+     * @param puzzle 9x9 puzzle, 0 for empty cells; not modified
+     * @return the rating
+     */
+    public static DifficultyRating rate(int[][] puzzle) {
+        return rate(puzzle, Double.MAX_VALUE);
+    }
+
+    /**
+     * Rates {@code puzzle}, giving up as soon as a step needs a technique harder than
+     * {@code maxGrade}. The returned grade is then above {@code maxGrade}, which is all a
+     * caller filtering by band needs to know.
+     * @param puzzle 9x9 puzzle, 0 for empty cells; not modified
+     * @param maxGrade highest grade of interest
+     * @return the rating, possibly partial when above {@code maxGrade}
+     */
+    public static DifficultyRating rate(int[][] puzzle, double maxGrade) {
+        CandidateGrid grid = new CandidateGrid();
+        grid.load(puzzle);
+        int empty = 0;
+        for (int cell = 0; cell < 81; cell++) if (grid.get(cell) == 0) empty++;
+
+        HintType hardest = null;
+        double grade = 0;
+        int steps = 0;
+        while (empty > 0) {
+            Optional<Hint> next = HintGenerator.findHint(grid);
+            if (next.isEmpty()) return new DifficultyRating(UNSOLVED_GRADE, hardest, steps, false);
+            Hint hint = next.get();
+            double weight = weight(hint.getType());
+            if (weight > grade) {
+                grade = weight;
+                hardest = hint.getType();
+                if (grade > maxGrade) return new DifficultyRating(grade, hardest, steps, false);
+            }
+            grid.apply(hint);
+            if (!hint.isElimination()) empty--;
+            steps++;
+        }
+        return new DifficultyRating(grade, hardest, steps, true);
+    }
+
+    /**
+     * Returns the difficulty weight of a technique, on a scale close to the one common
+     * human-style raters use.
+     * @param type hint type
+     * @return weight, higher for harder techniques
+     */
+    public static double weight(HintType type) {
+        return switch (type) {
+            case NAKED_SINGLE -> 1.0;
+            case HIDDEN_SINGLE_ROW, HIDDEN_SINGLE_COLUMN, HIDDEN_SINGLE_BOX -> 1.5;
+            case POINTING -> 2.6;
+            case BOX_LINE_REDUCTION -> 2.8;
+            case NAKED_PAIR -> 3.0;
+            case X_WING -> 3.2;
+            case HIDDEN_PAIR -> 3.4;
+            case NAKED_TRIPLE -> 3.6;
+            case SWORDFISH -> 3.8;
+            case HIDDEN_TRIPLE -> 4.0;
+            case XY_WING -> 4.2;
+            case NAKED_QUAD -> 5.0;
+            case HIDDEN_QUAD -> 5.4;
+            case SIMPLE_COLORING -> 5.6;
+            case X_CHAIN -> 6.0;
+            case XY_CHAIN -> 6.4;
+            case ALTERNATING_INFERENCE_CHAIN -> 7.0;
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sudokuhelper.Model;
+
+import com.example.sudokuhelper.Model.Hint.HintType;
+
+/**
+ * Immutable result of rating a puzzle with {@link DifficultyRater}.
+ */
+public final class DifficultyRating {
+
+    private final double grade;
+    private final HintType hardestTechnique;
+    private final int steps;
+    private final boolean solved;
+
+    public DifficultyRating(double grade, HintType hardestTechnique, int steps, boolean solved) {
+        this.grade = grade;
+        this.hardestTechnique = hardestTechnique;
+        this.steps = steps;
+        this.solved = solved;
+    }
+
+    /**
+     * Returns the numeric grade: the weight of the hardest technique needed, or
+     * {@link DifficultyRater#UNSOLVED_GRADE} when logic alone could not finish the puzzle.
+     */
+    public double getGrade() {
+        return grade;
+    }
+
+    /** Returns the hardest technique used, or {@code null} when no step was needed. */
+    public HintType getHardestTechnique() {
+        return hardestTechnique;
+    }
+
+    /** Returns the number of logical steps applied. */
+    public int getSteps() {
+        return steps;
+    }
+
+    /** Returns {@code true} when the techniques solved the whole puzzle. */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    @Override
+    public String toString() {
+        return "grade " + grade + " (" + (hardestTechnique == null ? "none" : hardestTechnique) + ", "
+                + steps + " steps" + (solved ? ")" : ", unsolved)");
+    }
+}
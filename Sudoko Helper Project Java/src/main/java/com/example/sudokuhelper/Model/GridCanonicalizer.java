@@ -0,0 +1,316 @@
+package com.example.sudokuhelper.Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps grids to a canonical representative under the Sudoku symmetries: digit relabeling,
+ * row permutations within bands, band permutations, the same for columns and stacks, and
+ * transpose. Two grids have the same canonical form exactly when they are equivalent.
+ * <p>The canonical form is the lexicographically smallest row-major string of the grid's
+ * equivalents, with empty cells lowest and digits relabeled 1, 2, 3... in order of first
+ * appearance. It is built one row at a time, keeping every partial arrangement that ties
+ * for the smallest prefix so far. Column arrangements are only enumerated for the rows
+ * that can come first, and interchangeable empty rows, columns, bands and stacks are
+ * tried once. Puzzles are canonicalized in microseconds; complete solution grids tie on
+ * every first row and take longer.</p>
+ */
+public final class GridCanonicalizer {
+
+    private static final int[][] PERMS3 = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    /**
+     * All 1296 column orders, indexed by {@code stacks * 216 + first * 36 + second * 6 + third}:
+     * the stack order followed by the order within the stack at each position.
+     */
+    private static final int[][] COLUMN_ORDERS = new int[1296][9];
+
+    static {
+        for (int code = 0; code < 1296; code++) {
+            int[] stacks = PERMS3[code / 216];
+            for (int position = 0; position < 3; position++) {
+                int[] perm = PERMS3[code / (position == 0 ? 36 : position == 1 ? 6 : 1) % 6];
+                for (int i = 0; i < 3; i++) COLUMN_ORDERS[code][position * 3 + i] = stacks[position] * 3 + perm[i];
+            }
+        }
+    }
+
+    private GridCanonicalizer() {
+        // utility
+    }
+
+    /** A partial arrangement: orientation, a column order and the rows placed so far. */
+    private static final class State {
+        int[] grid;
+        int emptyRows;
+        int[] cols;
+        final int[] labels = new int[10];
+        int usedRows;
+        int lastRow;
+        int nextLabel;
+
+        State() {
+        }
+
+        State(State parent) {
+            this.grid = parent.grid;
+            this.emptyRows = parent.emptyRows;
+            this.cols = parent.cols;
+            System.arraycopy(parent.labels, 0, labels, 0, 10);
+            this.usedRows = parent.usedRows;
+            this.nextLabel = parent.nextLabel;
+        }
+
+        void reset(int[] grid, int emptyRows, int[] cols) {
+            this.grid = grid;
+            this.emptyRows = emptyRows;
+            this.cols = cols;
+            Arrays.fill(labels, 0);
+            usedRows = 0;
+            nextLabel = 1;
+        }
+
+        /** Appends {@code row} to the arrangement and assigns labels to its new digits. */
+        void place(int row) {
+            usedRows |= 1 << row;
+            lastRow = row;
+            for (int i = 0; i < 9; i++) {
+                int value = grid[row * 9 + cols[i]];
+                if (value != 0 && labels[value] == 0) labels[value] = nextLabel++;
+            }
+        }
+    }
+
+    /** The states tying for the smallest prefix of one level, and that prefix's last row. */
+    private static final class Level {
+        final int[] result;
+        final int offset;
+        final List<State> states = new ArrayList<>();
+        boolean found;
+
+        Level(int[] result, int level) {
+            this.result = result;
+            this.offset = level * 9;
+        }
+    }
+
+    /**
+     * Returns the canonical form of {@code grid}.
+     * @param grid 9x9 grid, 0 for empty cells, with no digit repeated in a row, column or box;
+     *             not modified
+     * @return the canonical 9x9 grid
+     */
+    public static int[][] canonicalize(int[][] grid) {
+        int[][] oriented = new int[2][81];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                oriented[0][r * 9 + c] = grid[r][c];
+                oriented[1][c * 9 + r] = grid[r][c];
+            }
+        }
+
+        int[] result = new int[81];
+        List<State> states = secondRowStates(oriented, result);
+        for (int level = 2; level < 9; level++) {
+            Level next = new Level(result, level);
+            for (State state : states) extend(state, next);
+            states = next.states;
+        }
+
+        int[][] canonical = new int[9][9];
+        for (int cell = 0; cell < 81; cell++) canonical[cell / 9][cell % 9] = result[cell];
+        return canonical;
+    }
+
+    /**
+     * Returns the 128-bit hash of the canonical form, equal for all equivalent grids.
+     * @param grid 9x9 grid, 0 for empty cells; not modified
+     * @return hash of {@link #canonicalize(int[][])}
+     */
+    public static GridHash canonicalHash(int[][] grid) {
+        return GridHash.of(canonicalize(grid));
+    }
+
+    /**
+     * Chooses the first two rows. With all digits in a row distinct, the first row's relabeled
+     * string only depends on where its clues are, and the smallest one puts empty cells first:
+     * stacks in ascending clue count, empty cells first within each stack. Only column orders
+     * achieving that minimum for some row are tried, and each is extended by a second row
+     * straight away so that the many first-row ties never become states of their own.
+     */
+    private static List<State> secondRowStates(int[][] oriented, int[] result) {
+        int best = Integer.MAX_VALUE;
+        int[][] chunks = new int[18][];
+        for (int t = 0; t < 2; t++) {
+            for (int r = 0; r < 9; r++) {
+                int[] chunk = new int[3];
+                for (int s = 0; s < 3; s++) {
+                    for (int i = 0; i < 3; i++) {
+                        if (oriented[t][r * 9 + s * 3 + i] != 0) chunk[s] |= 4 >> i;
+                    }
+                }
+                chunks[t * 9 + r] = chunk;
+                best = Math.min(best, minimalMask(chunk));
+            }
+        }
+        int[] target = {best >> 6, best >> 3 & 7, best & 7};
+        // the first row is relabeled 1, 2, 3... in column order wherever it has clues
+        for (int i = 0, label = 1; i < 9; i++) result[i] = (best & 256 >> i) != 0 ? label++ : 0;
+
+        Level level = new Level(result, 1);
+        State first = new State();
+        int[][] perms = new int[3][6];
+        int[] counts = new int[3];
+        for (int t = 0; t < 2; t++) {
+            int[] grid = oriented[t];
+            boolean[] emptyCol = new boolean[9];
+            int emptyRows = 0;
+            for (int i = 0; i < 9; i++) {
+                emptyCol[i] = true;
+                boolean emptyRow = true;
+                for (int j = 0; j < 9; j++) {
+                    if (grid[j * 9 + i] != 0) emptyCol[i] = false;
+                    if (grid[i * 9 + j] != 0) emptyRow = false;
+                }
+                if (emptyRow) emptyRows |= 1 << i;
+            }
+            first.reset(grid, emptyRows, null);
+            for (int r = 0; r < 9; r++) {
+                int[] chunk = chunks[t * 9 + r];
+                if (minimalMask(chunk) != best || redundantRow(first, r, true)) continue;
+                for (int s = 0; s < 6; s++) {
+                    int[] stacks = PERMS3[s];
+                    if (!ordered(stacks, emptyCol)) continue;
+                    for (int position = 0; position < 3; position++) {
+                        counts[position] = matchingPerms(stacks[position], chunk, target[position], emptyCol, perms[position]);
+                    }
+                    for (int a = 0; a < counts[0]; a++) {
+                        for (int b = 0; b < counts[1]; b++) {
+                            for (int c = 0; c < counts[2]; c++) {
+                                first.reset(grid, emptyRows, COLUMN_ORDERS[s * 216 + perms[0][a] * 36 + perms[1][b] * 6 + perms[2][c]]);
+                                first.place(r);
+                                extend(first, level);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return level.states;
+    }
+
+    /** Returns the smallest 9-bit clue mask (first column most significant) a row can take. */
+    private static int minimalMask(int[] chunk) {
+        int[] counts = new int[3];
+        for (int s = 0; s < 3; s++) counts[s] = Integer.bitCount(chunk[s]);
+        Arrays.sort(counts);
+        return ((1 << counts[0]) - 1) << 6 | ((1 << counts[1]) - 1) << 3 | (1 << counts[2]) - 1;
+    }
+
+    /** Returns whether stacks made only of empty columns appear in ascending order. */
+    private static boolean ordered(int[] stacks, boolean[] emptyCol) {
+        for (int i = 0; i < 3; i++) {
+            for (int j = i + 1; j < 3; j++) {
+                if (stacks[i] > stacks[j] && emptyStack(stacks[i], emptyCol) && emptyStack(stacks[j], emptyCol)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean emptyStack(int stack, boolean[] emptyCol) {
+        return emptyCol[stack * 3] && emptyCol[stack * 3 + 1] && emptyCol[stack * 3 + 2];
+    }
+
+    /**
+     * Collects the orders within {@code stack} that give the first row the {@code target}
+     * clue bits, skipping orders that merely swap two empty columns.
+     * @return number of orders written to {@code out}
+     */
+    private static int matchingPerms(int stack, int[] chunk, int target, boolean[] emptyCol, int[] out) {
+        int count = 0;
+        for (int p = 0; p < 6; p++) {
+            int[] perm = PERMS3[p];
+            int bits = 0;
+            for (int i = 0; i < 3; i++) if ((chunk[stack] & 4 >> perm[i]) != 0) bits |= 4 >> i;
+            if (bits != target) continue;
+            boolean redundant = false;
+            for (int i = 0; i < 3; i++) {
+                for (int j = i + 1; j < 3; j++) {
+                    if (perm[i] > perm[j] && emptyCol[stack * 3 + perm[i]] && emptyCol[stack * 3 + perm[j]]) {
+                        redundant = true;
+                    }
+                }
+            }
+            if (!redundant) out[count++] = p;
+        }
+        return count;
+    }
+
+    /**
+     * Extends {@code state} by every row that ties for the smallest prefix of {@code level},
+     * recording that row in the result and dropping previously kept states it beats.
+     */
+    private static void extend(State state, Level level) {
+        int placed = level.offset / 9;
+        int first = placed % 3 != 0 ? state.lastRow / 3 * 3 : 0;
+        int last = placed % 3 != 0 ? first + 2 : 8;
+        for (int row = first; row <= last; row++) {
+            if ((state.usedRows & 1 << row) != 0 || redundantRow(state, row, placed % 3 == 0)) continue;
+            int cmp = level.found ? compareRow(state, row, level) : -1;
+            if (cmp > 0) continue;
+            if (cmp < 0) {
+                level.states.clear();
+                level.found = true;
+                int fresh = state.nextLabel;
+                for (int i = 0; i < 9; i++) {
+                    int value = state.grid[row * 9 + state.cols[i]];
+                    int label = value == 0 ? 0 : state.labels[value];
+                    level.result[level.offset + i] = value != 0 && label == 0 ? fresh++ : label;
+                }
+            }
+            State child = new State(state);
+            child.place(row);
+            level.states.add(child);
+        }
+    }
+
+    /**
+     * Returns whether placing {@code row} is equivalent to placing another unused candidate:
+     * swapping two empty rows of a band, or two empty bands, leaves the grid unchanged.
+     */
+    private static boolean redundantRow(State state, int row, boolean newBand) {
+        int band = row / 3;
+        int unusedEmpty = state.emptyRows & ~state.usedRows;
+        if (newBand && (state.emptyRows >> band * 3 & 7) == 7) {
+            for (int other = 0; other < band; other++) {
+                if ((unusedEmpty >> other * 3 & 7) == 7) return true;
+            }
+        }
+        if ((state.emptyRows & 1 << row) == 0) return false;
+        return (unusedEmpty & (1 << row) - (1 << band * 3)) != 0;
+    }
+
+    /**
+     * Compares the relabeled {@code row} with the level's current best row. Digits in a row are
+     * distinct, so each unlabeled digit simply takes the next free label.
+     */
+    private static int compareRow(State state, int row, Level level) {
+        int fresh = state.nextLabel;
+        for (int i = 0; i < 9; i++) {
+            int value = state.grid[row * 9 + state.cols[i]];
+            int label = 0;
+            if (value != 0) {
+                label = state.labels[value];
+                if (label == 0) label = fresh++;
+            }
+            int best = level.result[level.offset + i];
+            if (label != best) return label < best ? -1 : 1;
+        }
+        return 0;
+    }
+}
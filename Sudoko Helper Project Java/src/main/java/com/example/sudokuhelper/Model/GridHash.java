@@ -0,0 +1,76 @@
+package com.example.sudokuhelper.Model;
+
+/**
+ * 128-bit hash of a 9x9 grid, usable as a compact map key.
+ * <p>Two equal grids always hash equally; distinct grids collide with negligible
+ * probability, but callers that must be exact should still compare the grids.</p>
+ */
+public final class GridHash {
+
+    private final long high;
+    private final long low;
+
+    public GridHash(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Hashes a grid.
+     * @param grid 9x9 grid, 0 for empty cells
+     * @return the hash
+     */
+    public static GridHash of(int[][] grid) {
+        long high = 0x9E3779B97F4A7C15L;
+        long low = 0xC2B2AE3D27D4EB4FL;
+        long word = 0;
+        for (int cell = 0; cell < 81; cell++) {
+            word = word << 4 | (grid[cell / 9][cell % 9] & 0xF);
+            // 16 nibbles per word; the last word carries the single remaining cell
+            if ((cell & 15) == 15 || cell == 80) {
+                high = mix(high ^ word);
+                low = mix(low + word * 0xFF51AFD7ED558CCDL);
+                word = 0;
+            }
+        }
+        return new GridHash(high, mix(low ^ high));
+    }
+
+    /** Murmur3 64-bit finalizer. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Returns the upper 64 bits. */
+    public long getHigh() {
+        return high;
+    }
+
+    /** Returns the lower 64 bits, also usable on their own as a 64-bit hash. */
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof GridHash)) return false;
+        GridHash that = (GridHash) other;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.sudokuhelper.Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Validity-preserving Sudoku transforms: digit relabeling, row and column permutations
+ * within bands and stacks, band and stack swaps, and transpose.
+ * <p>Any combination of these maps a puzzle to an equivalent one with the same number of
+ * solutions, clue count and logical difficulty.</p>
+ */
+public final class GridTransforms {
+
+    private GridTransforms() {
+        // utility
+    }
+
+    /**
+     * Applies a uniformly random combination of all transforms.
+     * @param puzzle 9x9 grid, 0 for empty cells; not modified
+     * @param random source of the transform choices
+     * @return the transformed grid
+     */
+    public static int[][] randomize(int[][] puzzle, RandomGenerator random) {
+        int[] rows = randomLineOrder(random);
+        int[] cols = randomLineOrder(random);
+        int[] digits = new int[10];
+        int[] order = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        shuffle(order, 0, 9, random);
+        for (int d = 1; d <= 9; d++) digits[d] = order[d - 1];
+        return apply(puzzle, rows, cols, digits, random.nextBoolean());
+    }
+
+    /**
+     * Applies an explicit transform.
+     * @param puzzle 9x9 grid, 0 for empty cells; not modified
+     * @param rows source row for each target row; must keep rows within bands
+     * @param cols source column for each target column; must keep columns within stacks
+     * @param digits relabeling indexed by digit, {@code digits[0]} is ignored
+     * @param transpose whether to transpose after permuting
+     * @return the transformed grid
+     */
+    public static int[][] apply(int[][] puzzle, int[] rows, int[] cols, int[] digits, boolean transpose) {
+        int[][] out = new int[9][9];
+        for (int r = 0; r < 9; r++) {
+            int[] source = puzzle[rows[r]];
+            for (int c = 0; c < 9; c++) {
+                int value = source[cols[c]];
+                int mapped = value == 0 ? 0 : digits[value];
+                if (transpose) out[c][r] = mapped;
+                else out[r][c] = mapped;
+            }
+        }
+        return out;
+    }
+
+    /** Returns a random row (or column) order that shuffles bands and lines within each band. */
+    private static int[] randomLineOrder(RandomGenerator random) {
+        int[] bands = {0, 1, 2};
+        shuffle(bands, 0, 3, random);
+        int[] lines = new int[9];
+        for (int b = 0; b < 3; b++) {
+            for (int i = 0; i < 3; i++) lines[b * 3 + i] = bands[b] * 3 + i;
+            shuffle(lines, b * 3, 3, random);
+        }
+        return lines;
+    }
+
+    private static void shuffle(int[] values, int from, int length, RandomGenerator random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[from + i];
+            values[from + i] = values[from + j];
+            values[from + j] = tmp;
+        }
+    }
+}
@@ -1,29 +1,96 @@
 package com.example.sudokuhelper.Model;
 
+import java.util.function.Supplier;
+
 /**
- * Represents a simple Sudoku hint derived from board analysis.
+ * Represents a Sudoku hint derived from board analysis.
+ * <p>A hint either places a value (singles) or removes candidates (all other techniques).
+ * Elimination hints carry, per cell, the mask of removed candidates; their row and column
+ * point at the first affected cell and their value is 0.</p>
+ * <p>Chain and coloring hints also carry the chain of candidates that justifies them.
+ * Consecutive chain candidates are linked alternately by a strong link (at least one of the
+ * two is true) and a weak link (at most one is true), starting and ending with a strong
+ * link; coloring chains consist of strong links only.</p>
  */
 public class Hint {
 
+    /** Techniques in the order {@link HintGenerator} tries them, easiest first. */
     public enum HintType {
         NAKED_SINGLE,
         HIDDEN_SINGLE_ROW,
         HIDDEN_SINGLE_COLUMN,
-        HIDDEN_SINGLE_BOX
+        HIDDEN_SINGLE_BOX,
+        POINTING,
+        BOX_LINE_REDUCTION,
+        NAKED_PAIR,
+        X_WING,
+        HIDDEN_PAIR,
+        NAKED_TRIPLE,
+        SWORDFISH,
+        HIDDEN_TRIPLE,
+        XY_WING,
+        NAKED_QUAD,
+        HIDDEN_QUAD,
+        SIMPLE_COLORING,
+        X_CHAIN,
+        XY_CHAIN,
+        ALTERNATING_INFERENCE_CHAIN
     }
 
     private final HintType type;
     private final int row;
     private final int col;
     private final int value;
-    private final String explanation;
+    private final Supplier<String> explanation;
+    private final short[] eliminations;
+    /** Chain candidates as {@code cell * 9 + digit - 1}, or {@code null}. */
+    private final int[] chain;
 
     public Hint(HintType type, int row, int col, int value, String explanation) {
+        this(type, row, col, value, () -> explanation);
+    }
+
+    /**
+     * Creates a placement hint whose explanation is only built when requested, which keeps
+     * bulk hint collection cheap.
+     */
+    Hint(HintType type, int row, int col, int value, Supplier<String> explanation) {
         this.type = type;
         this.row = row;
         this.col = col;
         this.value = value;
         this.explanation = explanation;
+        this.eliminations = null;
+        this.chain = null;
+    }
+
+    /**
+     * Creates an elimination hint.
+     * @param type technique that justifies the eliminations
+     * @param eliminations 81 row-major masks of removed candidates (bit {@code d-1} for digit {@code d}); at least one non-zero
+     * @param explanation human-readable reasoning
+     */
+    public Hint(HintType type, short[] eliminations, String explanation) {
+        this(type, eliminations, null, explanation);
+    }
+
+    /**
+     * Creates an elimination hint justified by a chain of candidates.
+     * @param type technique that justifies the eliminations
+     * @param eliminations 81 row-major masks of removed candidates (bit {@code d-1} for digit {@code d}); at least one non-zero
+     * @param chain chain candidates in order, each encoded as {@code cell * 9 + digit - 1}; {@code null} for none
+     * @param explanation human-readable reasoning
+     */
+    public Hint(HintType type, short[] eliminations, int[] chain, String explanation) {
+        int first = 0;
+        while (first < 80 && eliminations[first] == 0) first++;
+        this.type = type;
+        this.row = first / 9;
+        this.col = first % 9;
+        this.value = 0;
+        this.explanation = () -> explanation;
+        this.eliminations = eliminations.clone();
+        this.chain = chain == null ? null : chain.clone();
     }
 
     public HintType getType() {
@@ -43,6 +110,58 @@ public class Hint {
     }
 
     public String getExplanation() {
-        return explanation;
+        return explanation.get();
+    }
+
+    /** Returns {@code true} when the hint removes candidates instead of placing a value. */
+    public boolean isElimination() {
+        return eliminations != null;
+    }
+
+    /**
+     * Returns the candidates this hint removes from a cell.
+     * @param row target row (0-8)
+     * @param col target column (0-8)
+     * @return mask of removed candidates, 0 for placement hints and unaffected cells
+     */
+    public int getEliminated(int row, int col) {
+        return eliminations == null ? 0 : eliminations[row * 9 + col];
+    }
+
+    /** Returns the number of candidates in the chain, 0 for hints without one. */
+    public int getChainLength() {
+        return chain == null ? 0 : chain.length;
+    }
+
+    /**
+     * Returns the row of a chain candidate.
+     * @param index position in the chain, from 0 to {@link #getChainLength()} - 1
+     * @return row (0-8)
+     */
+    public int getChainRow(int index) {
+        return chain[index] / 81;
+    }
+
+    /**
+     * Returns the column of a chain candidate.
+     * @param index position in the chain, from 0 to {@link #getChainLength()} - 1
+     * @return column (0-8)
+     */
+    public int getChainCol(int index) {
+        return chain[index] / 9 % 9;
+    }
+
+    /**
+     * Returns the digit of a chain candidate.
+     * @param index position in the chain, from 0 to {@link #getChainLength()} - 1
+     * @return digit (1-9)
+     */
+    public int getChainValue(int index) {
+        return chain[index] % 9 + 1;
+    }
+
+    /** Exposes the elimination masks without copying, for use inside the model package. */
+    short[] eliminations() {
+        return eliminations;
     }
 }
@@ -1,68 +1,212 @@
 package com.example.sudokuhelper.Model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.StringJoiner;
 
 import com.example.sudokuhelper.Model.Hint.HintType;
 
 /**
- * Derives simple Sudoku hints (singles in cells, rows, columns, or boxes).
+ * Derives human-style Sudoku hints: singles that place a value, then candidate eliminations
+ * (locked candidates, naked and hidden subsets, X-Wing, Swordfish and XY-Wing) and, as a
+ * last resort, the budgeted chain and coloring search of {@link ChainSearch}.
+ * <p>All scans read a row-major board of 9-bit candidate masks, either computed once
+ * per call or taken from a live {@link CandidateGrid}. Hidden singles are found with two
+ * accumulated masks per unit (digits seen once, digits seen twice) instead of per-digit
+ * counters. Techniques are tried in {@link HintType} order and each one enumerates a fixed
+ * number of unit, digit and subset combinations, so a call never takes more than a bounded
+ * amount of work.</p>
  */
 public final class HintGenerator {
 
+    /** 9-bit masks with exactly k bits set, indexed by k. */
+    private static final int[][] SUBSETS = new int[5][];
+
+    static {
+        for (int k = 2; k <= 4; k++) {
+            int size = 0;
+            int[] subsets = new int[126];
+            for (int mask = 0; mask < 512; mask++) if (Integer.bitCount(mask) == k) subsets[size++] = mask;
+            SUBSETS[k] = Arrays.copyOf(subsets, size);
+        }
+    }
+
     private HintGenerator() {
         // utility
     }
 
     public static Optional<Hint> findHint(int[][] board) {
-        Hint naked = findNakedSingle(board);
+        short[] masks = new short[81];
+        CandidateAnalyzer.fillCandidateMasks(board, masks);
+        return findHint(masks, new ChainSearch());
+    }
+
+    /**
+     * Finds a hint using the candidates already maintained by {@code grid}.
+     * @param grid live candidate grid
+     * @return optional hint describing the next logical move
+     */
+    public static Optional<Hint> findHint(CandidateGrid grid) {
+        return findHint(grid.masks(), new ChainSearch());
+    }
+
+    /**
+     * Finds a hint, bounding chain and coloring techniques by the limits of {@code chains}.
+     * An empty result with {@link ChainSearch#wasBudgetExhausted()} set means no hint was
+     * found within the budget, not that none exists; with {@link ChainSearch#wasCancelled()}
+     * set, the search was stopped by its cancellation check.
+     * @param grid live candidate grid
+     * @param chains chain search limits and cancellation check; receives the outcome of this call
+     * @return optional hint describing the next logical move
+     */
+    public static Optional<Hint> findHint(CandidateGrid grid, ChainSearch chains) {
+        return findHint(grid.masks(), chains);
+    }
+
+    /**
+     * Scans the mask board in a single pass: naked singles first, then hidden singles in
+     * the 27 units in order rows, columns, boxes, so the first hint of the highest-priority
+     * type is returned.
+     */
+    private static Optional<Hint> findHint(short[] masks, ChainSearch chains) {
+        chains.begin();
+        Hint naked = findNakedSingle(masks);
         if (naked != null) return Optional.of(naked);
 
-        Hint rowHidden = findHiddenSingleRow(board);
-        if (rowHidden != null) return Optional.of(rowHidden);
+        for (int unit = 0; unit < 27; unit++) {
+            int[] cells = CellIndex.UNITS[unit];
+            // digits seen at least once, and at least twice, in this unit
+            int once = 0;
+            int twice = 0;
+            for (int cell : cells) {
+                int mask = masks[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int hidden = once & ~twice;
+            if (hidden == 0) continue;
 
-        Hint colHidden = findHiddenSingleColumn(board);
-        if (colHidden != null) return Optional.of(colHidden);
+            int bit = Integer.lowestOneBit(hidden);
+            for (int cell : cells) {
+                if ((masks[cell] & bit) != 0) return Optional.of(hiddenSingle(unit, cell, CellIndex.digitOf(bit)));
+            }
+        }
+        return Optional.ofNullable(findElimination(masks, chains));
+    }
 
-        Hint boxHidden = findHiddenSingleBox(board);
-        if (boxHidden != null) return Optional.of(boxHidden);
+    /** Tries the elimination techniques in {@link HintType} order, stopping early when {@code chains} is cancelled. */
+    private static Hint findElimination(short[] masks, ChainSearch chains) {
+        int[] where = digitPositions(masks);
+        // shared by all techniques: only written with non-zero masks right before a hit
+        short[] eliminations = new short[81];
+        Hint hint = findPointing(masks, where, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findBoxLineReduction(masks, where, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findNakedSubset(masks, 2, HintType.NAKED_PAIR, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findFish(masks, where, 2, HintType.X_WING, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findHiddenSubset(masks, where, 2, HintType.HIDDEN_PAIR, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findNakedSubset(masks, 3, HintType.NAKED_TRIPLE, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findFish(masks, where, 3, HintType.SWORDFISH, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findHiddenSubset(masks, where, 3, HintType.HIDDEN_TRIPLE, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findXYWing(masks, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findNakedSubset(masks, 4, HintType.NAKED_QUAD, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = findHiddenSubset(masks, where, 4, HintType.HIDDEN_QUAD, eliminations);
+        if (hint == null && !chains.isCancelled()) hint = chains.find(masks, where, eliminations);
+        return hint;
+    }
 
-        return Optional.empty();
+    private static Hint findNakedSingle(short[] masks) {
+        for (int cell = 0; cell < 81; cell++) {
+            int candidates = masks[cell];
+            if (candidates != 0 && (candidates & (candidates - 1)) == 0) return nakedSingle(cell, candidates);
+        }
+        return null;
     }
 
-    private static Hint findNakedSingle(int[][] board) {
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (board[row][col] != 0) continue;
-                List<Integer> candidates = CandidateAnalyzer.analyze(board, row, col);
-                if (candidates.size() == 1) {
-                    int value = candidates.get(0);
-                    String explanation = "Cell (" + (row + 1) + ", " + (col + 1) + ") only allows " + value + ".";
-                    return new Hint(HintType.NAKED_SINGLE, row, col, value, explanation);
+    static Hint nakedSingle(int cell, int candidates) {
+        int row = cell / 9;
+        int col = cell % 9;
+        int value = CellIndex.digitOf(candidates);
+        return new Hint(HintType.NAKED_SINGLE, row, col, value,
+                () -> "Cell (" + (row + 1) + ", " + (col + 1) + ") only allows " + value + ".");
+    }
+
+    static Hint hiddenSingle(int unit, int cell, int value) {
+        int row = cell / 9;
+        int col = cell % 9;
+        if (unit < 9) {
+            return new Hint(HintType.HIDDEN_SINGLE_ROW, row, col, value,
+                    () -> "In row " + (row + 1) + ", only column " + (col + 1) + " can take " + value + ".");
+        }
+        if (unit < 18) {
+            return new Hint(HintType.HIDDEN_SINGLE_COLUMN, row, col, value,
+                    () -> "In column " + (col + 1) + ", only row " + (row + 1) + " can take " + value + ".");
+        }
+        return new Hint(HintType.HIDDEN_SINGLE_BOX, row, col, value,
+                () -> "In box (" + (row / 3 + 1) + ", " + (col / 3 + 1) + ") only cell (" + (row + 1) + ", " + (col + 1) + ") fits " + value + ".");
+    }
+
+    /**
+     * Returns, for each unit and digit, where the digit can go inside the unit:
+     * bit {@code i} of {@code [unit * 9 + digit - 1]} is set when the unit's i-th cell allows it.
+     */
+    private static int[] digitPositions(short[] masks) {
+        int[] where = new int[27 * 9];
+        for (int unit = 0; unit < 27; unit++) {
+            int[] cells = CellIndex.UNITS[unit];
+            for (int i = 0; i < 9; i++) {
+                for (int mask = masks[cells[i]]; mask != 0; mask &= mask - 1) {
+                    where[unit * 9 + Integer.numberOfTrailingZeros(mask)] |= 1 << i;
                 }
             }
         }
-        return null;
+        return where;
     }
 
-    private static Hint findHiddenSingleRow(int[][] board) {
-        for (int row = 0; row < 9; row++) {
-            int[] counts = new int[9];
-            List<List<Integer>> rowCandidates = new ArrayList<>(9);
-            for (int col = 0; col < 9; col++) {
-                List<Integer> candidates = board[row][col] == 0 ? CandidateAnalyzer.analyze(board, row, col) : List.of();
-                rowCandidates.add(candidates);
-                for (int value : candidates) counts[value - 1]++;
+    /** A digit confined to one row or column of a box is removed from the rest of that line. */
+    private static Hint findPointing(short[] masks, int[] where, short[] eliminations) {
+        for (int box = 0; box < 9; box++) {
+            for (int d = 0; d < 9; d++) {
+                int positions = where[(18 + box) * 9 + d];
+                if (Integer.bitCount(positions) < 2) continue;
+                for (int k = 0; k < 3; k++) {
+                    int line;
+                    if ((positions & ~(7 << 3 * k)) == 0) line = (box / 3) * 3 + k;
+                    else if ((positions & ~(0x49 << k)) == 0) line = 9 + (box % 3) * 3 + k;
+                    else continue;
+                    boolean found = false;
+                    for (int cell : CellIndex.UNITS[line]) {
+                        if (CellIndex.BOX[cell] != box) found |= mark(eliminations, cell, masks[cell] & 1 << d);
+                    }
+                    if (found) {
+                        return new Hint(HintType.POINTING, eliminations, "In " + unitName(18 + box) + ", " + (d + 1)
+                                + " can only go in " + unitName(line) + ", so it can be removed from the rest of "
+                                + unitName(line) + "." + describe(eliminations));
+                    }
+                }
             }
-            for (int value = 1; value <= 9; value++) {
-                if (counts[value - 1] == 1) {
-                    for (int col = 0; col < 9; col++) {
-                        List<Integer> candidates = rowCandidates.get(col);
-                        if (candidates.contains(value)) {
-                            String explanation = "In row " + (row + 1) + ", only column " + (col + 1) + " can take " + value + ".";
-                            return new Hint(HintType.HIDDEN_SINGLE_ROW, row, col, value, explanation);
-                        }
+        }
+        return null;
+    }
+
+    /** A digit confined to one box within a row or column is removed from the rest of that box. */
+    private static Hint findBoxLineReduction(short[] masks, int[] where, short[] eliminations) {
+        for (int line = 0; line < 18; line++) {
+            for (int d = 0; d < 9; d++) {
+                int positions = where[line * 9 + d];
+                if (Integer.bitCount(positions) < 2) continue;
+                for (int k = 0; k < 3; k++) {
+                    if ((positions & ~(7 << 3 * k)) != 0) continue;
+                    int index = line % 9;
+                    int box = line < 9 ? (index / 3) * 3 + k : k * 3 + index / 3;
+                    boolean found = false;
+                    for (int cell : CellIndex.UNITS[18 + box]) {
+                        boolean onLine = line < 9 ? CellIndex.ROW[cell] == index : CellIndex.COL[cell] == index;
+                        if (!onLine) found |= mark(eliminations, cell, masks[cell] & 1 << d);
+                    }
+                    if (found) {
+                        return new Hint(HintType.BOX_LINE_REDUCTION, eliminations, "In " + unitName(line) + ", " + (d + 1)
+                                + " can only go in " + unitName(18 + box) + ", so it can be removed from the rest of that box."
+                                + describe(eliminations));
                     }
                 }
             }
@@ -70,59 +214,179 @@ public final class HintGenerator {
         return null;
     }
 
-    private static Hint findHiddenSingleColumn(int[][] board) {
-        for (int col = 0; col < 9; col++) {
-            int[] counts = new int[9];
-            List<List<Integer>> columnCandidates = new ArrayList<>(9);
-            for (int row = 0; row < 9; row++) {
-                List<Integer> candidates = board[row][col] == 0 ? CandidateAnalyzer.analyze(board, row, col) : List.of();
-                columnCandidates.add(candidates);
-                for (int value : candidates) counts[value - 1]++;
+    /** k cells of a unit whose candidates together are k digits remove those digits from the unit's other cells. */
+    private static Hint findNakedSubset(short[] masks, int k, HintType type, short[] eliminations) {
+        for (int unit = 0; unit < 27; unit++) {
+            int[] cells = CellIndex.UNITS[unit];
+            int eligible = 0;
+            for (int i = 0; i < 9; i++) {
+                int count = Integer.bitCount(masks[cells[i]]);
+                if (count >= 2 && count <= k) eligible |= 1 << i;
             }
-            for (int value = 1; value <= 9; value++) {
-                if (counts[value - 1] == 1) {
-                    for (int row = 0; row < 9; row++) {
-                        List<Integer> candidates = columnCandidates.get(row);
-                        if (candidates.contains(value)) {
-                            String explanation = "In column " + (col + 1) + ", only row " + (row + 1) + " can take " + value + ".";
-                            return new Hint(HintType.HIDDEN_SINGLE_COLUMN, row, col, value, explanation);
+            for (int subset : SUBSETS[k]) {
+                if ((subset & ~eligible) != 0) continue;
+                int digits = 0;
+                for (int i = 0; i < 9; i++) if ((subset & 1 << i) != 0) digits |= masks[cells[i]];
+                if (Integer.bitCount(digits) != k) continue;
+                boolean found = false;
+                for (int i = 0; i < 9; i++) {
+                    if ((subset & 1 << i) == 0) found |= mark(eliminations, cells[i], masks[cells[i]] & digits);
+                }
+                if (found) {
+                    return new Hint(type, eliminations, "Cells " + cellNames(cells, subset) + " in " + unitName(unit)
+                            + " only contain " + digitNames(digits) + ", so these digits can be removed from the other cells of "
+                            + unitName(unit) + "." + describe(eliminations));
+                }
+            }
+        }
+        return null;
+    }
+
+    /** k digits that fit only in the same k cells of a unit remove every other candidate from those cells. */
+    private static Hint findHiddenSubset(short[] masks, int[] where, int k, HintType type, short[] eliminations) {
+        for (int unit = 0; unit < 27; unit++) {
+            int[] cells = CellIndex.UNITS[unit];
+            int eligible = 0;
+            for (int d = 0; d < 9; d++) {
+                int count = Integer.bitCount(where[unit * 9 + d]);
+                if (count >= 2 && count <= k) eligible |= 1 << d;
+            }
+            for (int digits : SUBSETS[k]) {
+                if ((digits & ~eligible) != 0) continue;
+                int positions = 0;
+                for (int d = 0; d < 9; d++) if ((digits & 1 << d) != 0) positions |= where[unit * 9 + d];
+                if (Integer.bitCount(positions) != k) continue;
+                boolean found = false;
+                for (int i = 0; i < 9; i++) {
+                    if ((positions & 1 << i) != 0) found |= mark(eliminations, cells[i], masks[cells[i]] & ~digits);
+                }
+                if (found) {
+                    return new Hint(type, eliminations, "In " + unitName(unit) + ", " + digitNames(digits) + " only fit in cells "
+                            + cellNames(cells, positions) + ", so those cells can't hold other digits." + describe(eliminations));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * X-Wing (k = 2) and Swordfish (k = 3): when a digit's places in k rows lie in only k
+     * columns, it is removed from those columns in all other rows; likewise with rows and
+     * columns swapped.
+     */
+    private static Hint findFish(short[] masks, int[] where, int k, HintType type, short[] eliminations) {
+        for (int d = 0; d < 9; d++) {
+            for (int base = 0; base < 18; base += 9) {
+                int cover = 9 - base;
+                int eligible = 0;
+                for (int line = 0; line < 9; line++) {
+                    int count = Integer.bitCount(where[(base + line) * 9 + d]);
+                    if (count >= 2 && count <= k) eligible |= 1 << line;
+                }
+                for (int lines : SUBSETS[k]) {
+                    if ((lines & ~eligible) != 0) continue;
+                    int crossing = 0;
+                    for (int line = 0; line < 9; line++) if ((lines & 1 << line) != 0) crossing |= where[(base + line) * 9 + d];
+                    if (Integer.bitCount(crossing) != k) continue;
+                    boolean found = false;
+                    for (int other = 0; other < 9; other++) {
+                        if ((crossing & 1 << other) == 0) continue;
+                        int[] cells = CellIndex.UNITS[cover + other];
+                        for (int i = 0; i < 9; i++) {
+                            if ((lines & 1 << i) == 0) found |= mark(eliminations, cells[i], masks[cells[i]] & 1 << d);
                         }
                     }
+                    if (found) {
+                        String kind = base == 0 ? "rows" : "columns";
+                        String other = base == 0 ? "columns" : "rows";
+                        return new Hint(type, eliminations, "In " + kind + " " + lineNames(lines) + ", " + (d + 1)
+                                + " only fits in " + other + " " + lineNames(crossing) + ", so it can be removed from the rest of those "
+                                + other + "." + describe(eliminations));
+                    }
                 }
             }
         }
         return null;
     }
 
-    private static Hint findHiddenSingleBox(int[][] board) {
-        for (int boxRow = 0; boxRow < 3; boxRow++) {
-            for (int boxCol = 0; boxCol < 3; boxCol++) {
-                int[] counts = new int[9];
-                List<List<Integer>> boxCandidates = new ArrayList<>(9);
-                for (int r = 0; r < 3; r++) {
-                    for (int c = 0; c < 3; c++) {
-                        int row = boxRow * 3 + r;
-                        int col = boxCol * 3 + c;
-                        List<Integer> candidates = board[row][col] == 0 ? CandidateAnalyzer.analyze(board, row, col) : List.of();
-                        boxCandidates.add(candidates);
-                        for (int value : candidates) counts[value - 1]++;
+    /**
+     * XY-Wing: a pivot with candidates {x, y} seeing wings {x, z} and {y, z}; whichever value
+     * the pivot takes, one wing is z, so z is removed from every cell seeing both wings.
+     */
+    private static Hint findXYWing(short[] masks, short[] eliminations) {
+        for (int pivot = 0; pivot < 81; pivot++) {
+            int pivotMask = masks[pivot];
+            if (Integer.bitCount(pivotMask) != 2) continue;
+            for (int first : CellIndex.PEERS[pivot]) {
+                int firstMask = masks[first];
+                if (Integer.bitCount(firstMask) != 2 || Integer.bitCount(firstMask & pivotMask) != 1) continue;
+                int z = firstMask & ~pivotMask;
+                int secondMask = (pivotMask & ~firstMask) | z;
+                for (int second : CellIndex.PEERS[pivot]) {
+                    if (second == first || masks[second] != secondMask) continue;
+                    boolean found = false;
+                    for (int cell : CellIndex.PEERS[first]) {
+                        if (cell != second && cell != pivot && sees(cell, second)) found |= mark(eliminations, cell, masks[cell] & z);
                     }
-                }
-                for (int value = 1; value <= 9; value++) {
-                    if (counts[value - 1] == 1) {
-                        for (int index = 0; index < boxCandidates.size(); index++) {
-                            List<Integer> candidates = boxCandidates.get(index);
-                            if (candidates.contains(value)) {
-                                int row = boxRow * 3 + index / 3;
-                                int col = boxCol * 3 + index % 3;
-                                String explanation = "In box (" + (boxRow + 1) + ", " + (boxCol + 1) + ") only cell (" + (row + 1) + ", " + (col + 1) + ") fits " + value + ".";
-                                return new Hint(HintType.HIDDEN_SINGLE_BOX, row, col, value, explanation);
-                            }
-                        }
+                    if (found) {
+                        int[] wing = {pivot, first, second};
+                        return new Hint(HintType.XY_WING, eliminations, "Cell " + cellNames(wing, 1) + " holds " + digitNames(pivotMask)
+                                + ", and cells " + cellNames(wing, 6) + " hold " + digitNames(firstMask) + " and " + digitNames(secondMask)
+                                + ", so one of them is " + CellIndex.digitOf(z) + " and cells seeing both can't be "
+                                + CellIndex.digitOf(z) + "." + describe(eliminations));
                     }
                 }
             }
         }
         return null;
     }
+
+    static boolean sees(int a, int b) {
+        return a != b && (CellIndex.ROW[a] == CellIndex.ROW[b] || CellIndex.COL[a] == CellIndex.COL[b] || CellIndex.BOX[a] == CellIndex.BOX[b]);
+    }
+
+    /** Records a non-empty elimination; returns whether there was one. */
+    private static boolean mark(short[] eliminations, int cell, int mask) {
+        if (mask == 0) return false;
+        eliminations[cell] = (short) mask;
+        return true;
+    }
+
+    private static String unitName(int unit) {
+        if (unit < 9) return "row " + (unit + 1);
+        if (unit < 18) return "column " + (unit - 8);
+        int box = unit - 18;
+        return "box (" + (box / 3 + 1) + ", " + (box % 3 + 1) + ")";
+    }
+
+    static String cellName(int cell) {
+        return "(" + (cell / 9 + 1) + ", " + (cell % 9 + 1) + ")";
+    }
+
+    /** Names the cells of {@code cells} selected by the bits of {@code selection}. */
+    private static String cellNames(int[] cells, int selection) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int i = 0; i < cells.length; i++) if ((selection & 1 << i) != 0) joiner.add(cellName(cells[i]));
+        return joiner.toString();
+    }
+
+    private static String digitNames(int mask) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int d = 0; d < 9; d++) if ((mask & 1 << d) != 0) joiner.add(String.valueOf(d + 1));
+        return joiner.toString();
+    }
+
+    /** Names 1-based line numbers from a 9-bit line mask. */
+    private static String lineNames(int mask) {
+        return digitNames(mask);
+    }
+
+    /** Lists the removed candidates, e.g. " Removes 5 from (1, 2); 5, 7 from (1, 3)." */
+    static String describe(short[] eliminations) {
+        StringJoiner joiner = new StringJoiner("; ", " Removes ", ".");
+        for (int cell = 0; cell < 81; cell++) {
+            if (eliminations[cell] != 0) joiner.add(digitNames(eliminations[cell]) + " from " + cellName(cell));
+        }
+        return joiner.toString();
+    }
 }
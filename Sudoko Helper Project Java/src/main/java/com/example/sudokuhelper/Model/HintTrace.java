@@ -0,0 +1,170 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.PEERS;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+import static com.example.sudokuhelper.Model.CellIndex.UNITS;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks the logical solution of a board one deduction at a time.
+ * <p>Hints are applied incrementally to a private {@link CandidateGrid}. Singles are not
+ * searched for by sweeping the board: the trace keeps, for every unit and digit, the number
+ * of cells that still allow the digit, and each applied hint updates these counts for the
+ * candidates it removes (the placed cell and those of its peers that allowed the value).
+ * A cell whose mask drops to one candidate is queued as a naked single, a unit whose count
+ * for a digit drops to one as a hidden single, so finding the next single costs time
+ * proportional to what the previous hint changed. Only once both queues are used up does
+ * the full technique chain of {@link HintGenerator} run. Nothing is computed until a hint
+ * is requested. The trace ends when the board is solved or no technique applies.</p>
+ * <p>Queued singles are reported naked first, each queue in the order the singles appeared,
+ * so the sequence can differ from calling {@link HintGenerator#findHint(CandidateGrid)}
+ * after every step, though every hint is valid when it is handed out.</p>
+ */
+public final class HintTrace implements Iterator<Hint> {
+
+    private final CandidateGrid grid = new CandidateGrid();
+    /** Live candidate masks of {@link #grid}. */
+    private final short[] masks;
+    /** Cells allowing each digit per unit, indexed {@code unit * 9 + digit - 1}. */
+    private final byte[] places = new byte[27 * 9];
+    // every cell becomes a naked single, and every unit and digit a hidden single, at most once
+    private final int[] naked = new int[81];
+    private final int[] hidden = new int[27 * 9];
+    private int nakedHead, nakedTail;
+    private int hiddenHead, hiddenTail;
+    private Hint next;
+    private int empty;
+    private boolean finished;
+
+    /**
+     * @param board 9x9 board to start from, 0 for empty cells; copied
+     */
+    public HintTrace(int[][] board) {
+        grid.load(board);
+        masks = grid.masks();
+        for (int cell = 0; cell < 81; cell++) {
+            if (grid.get(cell) == 0) empty++;
+            int mask = masks[cell];
+            if (mask != 0 && (mask & mask - 1) == 0) naked[nakedTail++] = cell;
+            for (; mask != 0; mask &= mask - 1) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                places[ROW[cell] * 9 + d]++;
+                places[(9 + COL[cell]) * 9 + d]++;
+                places[(18 + BOX[cell]) * 9 + d]++;
+            }
+        }
+        for (int code = 0; code < 27 * 9; code++) if (places[code] == 1) hidden[hiddenTail++] = code;
+    }
+
+    /**
+     * Returns the trace of {@code board} as a lazy, ordered, sequential stream.
+     * @param board 9x9 board to start from, 0 for empty cells; copied
+     * @return stream of hints in the order they apply
+     */
+    public static Stream<Hint> stream(int[][] board) {
+        Spliterator<Hint> spliterator = Spliterators.spliteratorUnknownSize(new HintTrace(board),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null || finished) return next != null;
+        if (empty == 0) {
+            finished = true;
+            return false;
+        }
+        Hint hint = nextSingle();
+        if (hint == null) {
+            Optional<Hint> found = HintGenerator.findHint(grid);
+            if (found.isEmpty()) {
+                finished = true;
+                return false;
+            }
+            hint = found.get();
+        }
+        if (hint.isElimination()) {
+            short[] eliminations = hint.eliminations();
+            for (int cell = 0; cell < 81; cell++) {
+                int mask = masks[cell];
+                if ((mask & eliminations[cell]) != 0) removed(cell, mask, mask & ~eliminations[cell]);
+            }
+            grid.apply(hint);
+        } else {
+            place(hint.getRow() * 9 + hint.getCol(), hint.getValue());
+        }
+        next = hint;
+        return true;
+    }
+
+    /** Pops the next queued single that still holds, or returns {@code null}. */
+    private Hint nextSingle() {
+        while (nakedHead < nakedTail) {
+            int cell = naked[nakedHead++];
+            int mask = masks[cell];
+            // a filled cell has mask 0; a contradiction can also leave an empty cell without candidates
+            if (mask != 0) return HintGenerator.nakedSingle(cell, mask);
+        }
+        while (hiddenHead < hiddenTail) {
+            int code = hidden[hiddenHead++];
+            // most units pass through one place on the way to none once the digit is placed
+            if (places[code] != 1) continue;
+            int unit = code / 9;
+            int bit = 1 << code % 9;
+            for (int cell : UNITS[unit]) {
+                if ((masks[cell] & bit) != 0) return HintGenerator.hiddenSingle(unit, cell, code % 9 + 1);
+            }
+        }
+        return null;
+    }
+
+    /** Places {@code value} at the empty {@code cell}, updating the counts before the grid. */
+    private void place(int cell, int value) {
+        int bit = 1 << value - 1;
+        for (int peer : PEERS[cell]) {
+            // placing into an empty cell removes exactly this value from the peers' candidates
+            int mask = masks[peer];
+            if ((mask & bit) != 0) removed(peer, mask, mask & ~bit);
+        }
+        removed(cell, masks[cell], 0);
+        grid.set(cell, value);
+        empty--;
+    }
+
+    /** Accounts for {@code cell} going from candidates {@code before} to {@code after}. */
+    private void removed(int cell, int before, int after) {
+        for (int gone = before & ~after; gone != 0; gone &= gone - 1) {
+            int d = Integer.numberOfTrailingZeros(gone);
+            countDown(ROW[cell] * 9 + d);
+            countDown((9 + COL[cell]) * 9 + d);
+            countDown((18 + BOX[cell]) * 9 + d);
+        }
+        if (after != 0 && (after & after - 1) == 0) naked[nakedTail++] = cell;
+    }
+
+    private void countDown(int code) {
+        if (--places[code] == 1) hidden[hiddenTail++] = code;
+    }
+
+    @Override
+    public Hint next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Hint hint = next;
+        next = null;
+        return hint;
+    }
+
+    /** Returns {@code true} once the trace ended with every cell filled. */
+    public boolean isSolved() {
+        return finished && empty == 0;
+    }
+}
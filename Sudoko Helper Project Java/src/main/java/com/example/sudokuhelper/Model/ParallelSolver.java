@@ -0,0 +1,184 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.ALL_DIGITS;
+import static com.example.sudokuhelper.Model.CellIndex.BOX;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fork-join solver for hard and multi-solution puzzles.
+ * <p>Every call first runs the sequential {@link BitboardSolver} with a node budget (the
+ * parallelism threshold), so easy puzzles never leave the calling thread. When the budget
+ * is exhausted the search tree is split on the most constrained cell for the first
+ * {@code splitDepth} levels and the subtrees are searched in a {@link ForkJoinPool}.
+ * Once the requested number of solutions has been found a shared flag stops all sibling
+ * tasks. Instances hold no per-call state and may be shared between threads.</p>
+ */
+public final class ParallelSolver implements SolverStrategy {
+
+    /** Default number of sequential search nodes tried before going parallel. */
+    public static final long DEFAULT_SEQUENTIAL_NODES = 20_000;
+    /** Default number of branching levels that are split into subtasks. */
+    public static final int DEFAULT_SPLIT_DEPTH = 4;
+
+    private final ForkJoinPool pool;
+    private final long sequentialNodes;
+    private final int splitDepth;
+
+    /** Creates a solver on the common pool with the default threshold and split depth. */
+    public ParallelSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_NODES, DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param pool pool that runs the subtasks
+     * @param sequentialNodes search nodes tried on the calling thread before splitting; 0 always splits
+     * @param splitDepth number of branching levels turned into subtasks (at least 1)
+     */
+    public ParallelSolver(ForkJoinPool pool, long sequentialNodes, int splitDepth) {
+        if (pool == null) throw new IllegalArgumentException("Pool must not be null");
+        if (sequentialNodes < 0) throw new IllegalArgumentException("Sequential node budget must not be negative");
+        if (splitDepth < 1) throw new IllegalArgumentException("Split depth must be at least 1");
+        this.pool = pool;
+        this.sequentialNodes = sequentialNodes;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        int[] solution = new int[81];
+        if (run(board, 1, solution) == 0) return false;
+        for (int cell = 0; cell < 81; cell++) board[ROW[cell]][COL[cell]] = solution[cell];
+        return true;
+    }
+
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return limit <= 0 ? 0 : run(board, limit, null);
+    }
+
+    private int run(int[][] board, int limit, int[] solution) {
+        int[] cells = new int[81];
+        for (int cell = 0; cell < 81; cell++) cells[cell] = board[ROW[cell]][COL[cell]];
+
+        if (sequentialNodes > 0) {
+            BitboardSolver sequential = new BitboardSolver();
+            sequential.setNodeLimit(sequentialNodes);
+            int found = sequential.countSolutions(cells, limit);
+            if (!sequential.wasAborted()) {
+                if (found > 0 && solution != null) sequential.copySolution(solution);
+                return found;
+            }
+        }
+
+        Search search = new Search(limit);
+        pool.invoke(new SearchTask(search, cells, 0));
+        if (search.solution.get() != null && solution != null) {
+            System.arraycopy(search.solution.get(), 0, solution, 0, 81);
+        }
+        return Math.min(search.found.get(), limit);
+    }
+
+    /** State shared by all tasks of one call. */
+    private static final class Search {
+        private final int limit;
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final AtomicReference<int[]> solution = new AtomicReference<>();
+
+        private Search(int limit) {
+            this.limit = limit;
+        }
+
+        private void report(int count, int[] firstSolution) {
+            if (count == 0) return;
+            solution.compareAndSet(null, firstSolution);
+            if (found.addAndGet(count) >= limit) stop.set(true);
+        }
+    }
+
+    private final class SearchTask extends RecursiveTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int[] cells;
+        private final int depth;
+
+        private SearchTask(Search search, int[] cells, int depth) {
+            this.search = search;
+            this.cells = cells;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Void compute() {
+            if (search.stop.get()) return null;
+            if (depth >= splitDepth) {
+                searchSequentially();
+                return null;
+            }
+
+            int[] rowUsed = new int[9];
+            int[] colUsed = new int[9];
+            int[] boxUsed = new int[9];
+            for (int cell = 0; cell < 81; cell++) {
+                int value = cells[cell];
+                if (value == 0) continue;
+                if (value < 0 || value > 9) return null;
+                int bit = 1 << (value - 1);
+                if (((rowUsed[ROW[cell]] | colUsed[COL[cell]] | boxUsed[BOX[cell]]) & bit) != 0) return null;
+                rowUsed[ROW[cell]] |= bit;
+                colUsed[COL[cell]] |= bit;
+                boxUsed[BOX[cell]] |= bit;
+            }
+
+            int best = -1;
+            int bestMask = 0;
+            int bestCount = 10;
+            for (int cell = 0; cell < 81; cell++) {
+                if (cells[cell] != 0) continue;
+                int mask = ~(rowUsed[ROW[cell]] | colUsed[COL[cell]] | boxUsed[BOX[cell]]) & ALL_DIGITS;
+                int count = Integer.bitCount(mask);
+                if (count < bestCount) {
+                    best = cell;
+                    bestMask = mask;
+                    bestCount = count;
+                }
+            }
+            if (best < 0) {
+                search.report(1, cells.clone());
+                return null;
+            }
+
+            List<SearchTask> children = new ArrayList<>(bestCount);
+            for (int mask = bestMask; mask != 0; mask &= mask - 1) {
+                int[] child = cells.clone();
+                child[best] = CellIndex.digitOf(mask & -mask);
+                children.add(new SearchTask(search, child, depth + 1));
+            }
+            invokeAll(children);
+            return null;
+        }
+
+        private void searchSequentially() {
+            BitboardSolver solver = new BitboardSolver();
+            solver.setMonitor((nodes, depth) -> !search.stop.get());
+            int remaining = search.limit - search.found.get();
+            if (remaining <= 0) return;
+            int count = solver.countSolutions(cells, remaining);
+            if (count > 0) {
+                int[] first = new int[81];
+                solver.copySolution(first);
+                search.report(count, first);
+            }
+        }
+    }
+}
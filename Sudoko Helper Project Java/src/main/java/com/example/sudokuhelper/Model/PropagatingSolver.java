@@ -0,0 +1,179 @@
+package com.example.sudokuhelper.Model;
+
+import static com.example.sudokuhelper.Model.CellIndex.ALL_DIGITS;
+import static com.example.sudokuhelper.Model.CellIndex.COL;
+import static com.example.sudokuhelper.Model.CellIndex.PEERS;
+import static com.example.sudokuhelper.Model.CellIndex.ROW;
+import static com.example.sudokuhelper.Model.CellIndex.UNITS;
+
+import java.util.Arrays;
+
+/**
+ * Solver that applies the singles rules used by {@link HintGenerator} (naked singles and
+ * hidden singles in rows, columns and boxes) until they stall, and only then branches on
+ * the most constrained cell. Propagation runs again after every guess, so most puzzles
+ * are solved without guessing at all.
+ * <p>The state saved for backtracking lives in preallocated per-depth arrays. Effort
+ * counters of the latest call are available from {@link #getLastStats()}. Instances are
+ * reusable but not thread-safe.</p>
+ */
+public final class PropagatingSolver implements SolverStrategy {
+
+    private final int[] values = new int[81];
+    private final short[] candidates = new short[81];
+    private final int[][] savedValues = new int[82][81];
+    private final short[][] savedCandidates = new short[82][81];
+    private final int[] solution = new int[81];
+    private int filled;
+    private int limit;
+    private int found;
+    private long propagations;
+    private long guesses;
+
+    @Override
+    public boolean solve(int[][] board) {
+        if (run(board, 1) == 0) return false;
+        for (int cell = 0; cell < 81; cell++) board[ROW[cell]][COL[cell]] = solution[cell];
+        return true;
+    }
+
+    @Override
+    public int countSolutions(int[][] board, int limit) {
+        return limit <= 0 ? 0 : run(board, limit);
+    }
+
+    /**
+     * Returns the propagation and guess counts of the most recent solve or count.
+     * @return effort counters of the last call
+     */
+    public SolveStats getLastStats() {
+        return new SolveStats(propagations, guesses);
+    }
+
+    private int run(int[][] board, int limit) {
+        this.limit = limit;
+        found = 0;
+        propagations = 0;
+        guesses = 0;
+        if (load(board)) search(0);
+        return found;
+    }
+
+    private boolean load(int[][] board) {
+        Arrays.fill(values, 0);
+        Arrays.fill(candidates, (short) ALL_DIGITS);
+        filled = 0;
+        for (int cell = 0; cell < 81; cell++) {
+            int value = board[ROW[cell]][COL[cell]];
+            if (value == 0) continue;
+            if (value < 0 || value > 9 || !place(cell, value)) return false;
+        }
+        return true;
+    }
+
+    /** @return {@code true} once {@code limit} solutions have been found and the search should stop */
+    private boolean search(int depth) {
+        if (!propagate()) return false;
+        if (filled == 81) {
+            if (found++ == 0) System.arraycopy(values, 0, solution, 0, 81);
+            return found >= limit;
+        }
+
+        int best = -1;
+        int bestCount = 10;
+        for (int cell = 0; cell < 81 && bestCount > 2; cell++) {
+            if (values[cell] != 0) continue;
+            int count = Integer.bitCount(candidates[cell]);
+            if (count < bestCount) {
+                best = cell;
+                bestCount = count;
+            }
+        }
+
+        int[] valueSnapshot = savedValues[depth];
+        short[] candidateSnapshot = savedCandidates[depth];
+        System.arraycopy(values, 0, valueSnapshot, 0, 81);
+        System.arraycopy(candidates, 0, candidateSnapshot, 0, 81);
+        int savedFilled = filled;
+
+        int mask = candidates[best];
+        while (mask != 0) {
+            int bit = mask & -mask;
+            mask ^= bit;
+            guesses++;
+            if (place(best, CellIndex.digitOf(bit)) && search(depth + 1)) return true;
+            System.arraycopy(valueSnapshot, 0, values, 0, 81);
+            System.arraycopy(candidateSnapshot, 0, candidates, 0, 81);
+            filled = savedFilled;
+        }
+        return false;
+    }
+
+    /**
+     * Applies naked and hidden singles until neither rule makes progress.
+     * @return {@code false} when a contradiction was found
+     */
+    private boolean propagate() {
+        boolean progress = true;
+        while (progress && filled < 81) {
+            progress = false;
+            for (int cell = 0; cell < 81; cell++) {
+                if (values[cell] != 0) continue;
+                int mask = candidates[cell];
+                if (mask == 0) return false;
+                if ((mask & (mask - 1)) == 0) {
+                    if (!place(cell, CellIndex.digitOf(mask))) return false;
+                    propagations++;
+                    progress = true;
+                }
+            }
+            for (int[] unit : UNITS) {
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int cell : unit) {
+                    if (values[cell] != 0) {
+                        placed |= 1 << (values[cell] - 1);
+                    } else {
+                        twice |= once & candidates[cell];
+                        once |= candidates[cell];
+                    }
+                }
+                if ((once | placed) != ALL_DIGITS) return false;
+                int hidden = once & ~twice & ~placed;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    for (int cell : unit) {
+                        if (values[cell] == 0 && (candidates[cell] & bit) != 0) {
+                            if (!place(cell, CellIndex.digitOf(bit))) return false;
+                            propagations++;
+                            progress = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places {@code value} at {@code cell} and removes it from the peers' candidates.
+     * @return {@code false} when the value is not a candidate or a peer runs out of candidates
+     */
+    private boolean place(int cell, int value) {
+        int bit = 1 << (value - 1);
+        if ((candidates[cell] & bit) == 0) return false;
+        values[cell] = value;
+        candidates[cell] = 0;
+        filled++;
+        for (int peer : PEERS[cell]) {
+            if (values[peer] == 0 && (candidates[peer] & bit) != 0) {
+                candidates[peer] &= (short) ~bit;
+                if (candidates[peer] == 0) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.sudokuhelper.Model;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded pools of pre-generated puzzles, one per clue count.
+ * <p>{@link #take(int)} dequeues a ready puzzle when one is available and otherwise
+ * generates it on the calling thread. Whenever a pool drops below its low-water mark,
+ * a background worker refills it up to capacity. Workers are daemon threads, so an
+ * unused pool never keeps the application alive.</p>
+ */
+public final class PuzzlePool {
+
+    public static final int DEFAULT_CAPACITY = 8;
+    public static final int DEFAULT_LOW_WATER_MARK = 3;
+    public static final int DEFAULT_REFILL_THREADS = 1;
+
+    private final int capacity;
+    private final int lowWaterMark;
+    private final IntFunction<int[][]> generator;
+    private final ExecutorService refillExecutor;
+    private final Map<Integer, Level> levels = new ConcurrentHashMap<>();
+
+    /** Creates a pool with the default sizes backed by {@link SudokuGenerator#generate(int)}. */
+    public PuzzlePool() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOW_WATER_MARK, DEFAULT_REFILL_THREADS, SudokuGenerator::generate);
+    }
+
+    /**
+     * @param capacity maximum number of ready puzzles kept per clue count
+     * @param lowWaterMark a refill starts when fewer puzzles than this are ready
+     * @param refillThreads number of background generator threads
+     * @param generator produces a new puzzle for a clue count
+     */
+    public PuzzlePool(int capacity, int lowWaterMark, int refillThreads, IntFunction<int[][]> generator) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+        if (lowWaterMark < 1 || lowWaterMark > capacity) throw new IllegalArgumentException("Low-water mark must be between 1 and capacity");
+        if (refillThreads < 1) throw new IllegalArgumentException("Refill thread count must be at least 1");
+        if (generator == null) throw new IllegalArgumentException("Generator must not be null");
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.generator = generator;
+        this.refillExecutor = Executors.newFixedThreadPool(refillThreads, r -> {
+            Thread thread = new Thread(r, "sudoku-puzzle-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns a puzzle with the given clue count, from the pool when possible.
+     * @param clues number of givens
+     * @return 9x9 puzzle owned by the caller
+     */
+    public int[][] take(int clues) {
+        Level level = level(clues);
+        int[][] puzzle = level.ready.poll();
+        if (puzzle != null) {
+            level.hits.increment();
+        } else {
+            level.misses.increment();
+            puzzle = generator.apply(clues);
+        }
+        refillIfLow(level);
+        return puzzle;
+    }
+
+    /**
+     * Starts filling the pools of the given clue counts in the background.
+     * @param clues clue counts to prepare
+     */
+    public void warmUp(int... clues) {
+        for (int count : clues) refillIfLow(level(count));
+    }
+
+    /** Returns the number of ready puzzles for {@code clues}. */
+    public int getAvailable(int clues) {
+        Level level = levels.get(clues);
+        return level == null ? 0 : level.ready.size();
+    }
+
+    /** Returns how many {@link #take(int)} calls for {@code clues} were served from the pool. */
+    public long getHits(int clues) {
+        Level level = levels.get(clues);
+        return level == null ? 0 : level.hits.sum();
+    }
+
+    /** Returns how many {@link #take(int)} calls for {@code clues} had to generate synchronously. */
+    public long getMisses(int clues) {
+        Level level = levels.get(clues);
+        return level == null ? 0 : level.misses.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    /** Stops the background workers; subsequent takes always generate synchronously. */
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private Level level(int clues) {
+        return levels.computeIfAbsent(clues, c -> new Level(c, capacity));
+    }
+
+    private void refillIfLow(Level level) {
+        if (level.ready.size() >= lowWaterMark) return;
+        if (refillExecutor.isShutdown() || !level.refilling.compareAndSet(false, true)) return;
+        refillExecutor.execute(() -> {
+            try {
+                while (level.ready.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                    level.ready.offer(generator.apply(level.clues));
+                }
+            } finally {
+                level.refilling.set(false);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner("; ", "PuzzlePool[", "]");
+        levels.values().forEach(level -> joiner.add(level.clues + " clues: " + level.ready.size() + " ready, "
+                + level.hits.sum() + " hits, " + level.misses.sum() + " misses"));
+        return joiner.toString();
+    }
+
+    /** Ready puzzles and counters for one clue count. */
+    private static final class Level {
+        private final int clues;
+        private final BlockingQueue<int[][]> ready;
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Level(int clues, int capacity) {
+            this.clues = clues;
+            this.ready = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.sudokuhelper.Model;
+
+/**
+ * Callback polled periodically by a running search (every 1024 nodes in
+ * {@link BitboardSolver}) to report effort and to ask whether it may continue.
+ */
+@FunctionalInterface
+interface SearchMonitor {
+
+    /**
+     * @param nodes search nodes visited so far in the current call
+     * @param depth number of cells currently placed by the search
+     * @return {@code false} to abort the search
+     */
+    boolean proceed(long nodes, int depth);
+}
@@ -0,0 +1,135 @@
+package com.example.sudokuhelper.Model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Library of rated seed puzzles from which new puzzles are produced by random
+ * {@link GridTransforms}. Transforms keep uniqueness, clue count and grade, so a puzzle of
+ * known difficulty costs a few microseconds instead of a full generate-and-dig-out.
+ * <p>The library file holds one seed per line: 81 characters ({@code 0} or {@code .} for
+ * blanks), whitespace, and the seed's {@link DifficultyRater} grade. Blank lines and lines
+ * starting with {@code #} are ignored.</p>
+ */
+public final class SeedLibrary {
+
+    /** Classpath location of the bundled seed library. */
+    public static final String DEFAULT_RESOURCE = "/com/example/sudokuhelper/puzzles/seeds.txt";
+
+    private static final class Seed {
+        final int[][] puzzle;
+        final double grade;
+        final int clues;
+
+        Seed(int[][] puzzle, double grade, int clues) {
+            this.puzzle = puzzle;
+            this.grade = grade;
+            this.clues = clues;
+        }
+    }
+
+    /** Seeds ordered by grade, then clue count. */
+    private final List<Seed> seeds;
+
+    private SeedLibrary(List<Seed> seeds) {
+        seeds.sort(Comparator.comparingDouble((Seed s) -> s.grade).thenComparingInt(s -> s.clues));
+        this.seeds = seeds;
+    }
+
+    /**
+     * Loads the bundled library.
+     * @return the library
+     */
+    public static SeedLibrary loadDefault() {
+        try (InputStream in = SeedLibrary.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + DEFAULT_RESOURCE);
+            return read(new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Reads a library in the seed file format.
+     * @param reader source of seed lines
+     * @return the library
+     * @throws IOException when reading fails
+     * @throws IllegalArgumentException when a line is malformed or the library is empty
+     */
+    public static SeedLibrary read(BufferedReader reader) throws IOException {
+        List<Seed> seeds = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            if (parts.length != 2 || parts[0].length() != 81) {
+                throw new IllegalArgumentException("Seed line must be <81-char puzzle> <grade>: " + line);
+            }
+            int[][] puzzle = new int[9][9];
+            int clues = 0;
+            for (int i = 0; i < 81; i++) {
+                char ch = parts[0].charAt(i);
+                if (ch == '.' || ch == '0') continue;
+                if (ch < '1' || ch > '9') throw new IllegalArgumentException("Invalid character in seed: " + line);
+                puzzle[i / 9][i % 9] = ch - '0';
+                clues++;
+            }
+            seeds.add(new Seed(puzzle, Double.parseDouble(parts[1]), clues));
+        }
+        if (seeds.isEmpty()) throw new IllegalArgumentException("Seed library is empty");
+        return new SeedLibrary(seeds);
+    }
+
+    /**
+     * Returns a random transform of a random seed graded within [{@code minGrade}, {@code maxGrade}].
+     * @param minGrade lowest acceptable grade
+     * @param maxGrade highest acceptable grade
+     * @param random source of all random choices
+     * @return 9x9 puzzle matrix with zeros for empty cells
+     * @throws IllegalArgumentException when no seed lies within the band
+     */
+    public int[][] generate(double minGrade, double maxGrade, RandomGenerator random) {
+        int from = 0;
+        while (from < seeds.size() && seeds.get(from).grade < minGrade) from++;
+        int to = from;
+        while (to < seeds.size() && seeds.get(to).grade <= maxGrade) to++;
+        if (from == to) throw new IllegalArgumentException("No seed graded between " + minGrade + " and " + maxGrade);
+        return GridTransforms.randomize(seeds.get(from + random.nextInt(to - from)).puzzle, random);
+    }
+
+    /**
+     * Returns a random transform of a random seed whose clue count is closest to {@code clues}.
+     * @param clues desired number of given cells
+     * @param random source of all random choices
+     * @return 9x9 puzzle matrix with zeros for empty cells
+     */
+    public int[][] generate(int clues, RandomGenerator random) {
+        int bestDistance = Integer.MAX_VALUE;
+        int matches = 0;
+        Seed chosen = null;
+        for (Seed seed : seeds) {
+            int distance = Math.abs(seed.clues - clues);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                matches = 0;
+            }
+            // reservoir sampling over the seeds at the best distance
+            if (distance == bestDistance && random.nextInt(++matches) == 0) chosen = seed;
+        }
+        return GridTransforms.randomize(chosen.puzzle, random);
+    }
+
+    /** Returns the number of seeds. */
+    public int size() {
+        return seeds.size();
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.sudokuhelper.Model;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Persists a play session as a snapshot plus an append-only log of player moves, so every
+ * move is saved without rewriting the session and a crash loses at most the moves not yet
+ * synced.
+ * <p>The snapshot uses the binary format of {@link SessionManager}. The log starts with an
+ * 8-byte header ({@code "SDKJ"} and the format version) followed by one record of
+ * {@value #RECORD_SIZE} bytes per move:</p>
+ * <pre>
+ * sequence 4 bytes  1 for the first move after the snapshot, then consecutive
+ * cell     1 byte   row-major index 0..80
+ * value    1 byte   0..9
+ * check    2 bytes  low 16 bits of the CRC32 of the preceding 6 bytes
+ * </pre>
+ * <p>Moves are buffered and written with an fsync once {@code syncEvery} moves are pending,
+ * or by a daemon thread {@code syncInterval} after the first of them was buffered, so a
+ * move is on disk at most {@code syncInterval} (plus the time of the write) after it was
+ * recorded even when no further move follows; {@link #sync()} and {@link #close()} write
+ * the rest. A failed background sync is reported by the next {@link #record}. Every {@code compactEvery} moves the
+ * log is folded into a fresh snapshot. {@link #recover()} replays the log over the snapshot
+ * up to the first torn or corrupt record. Compaction only runs right after a sync, when the
+ * log on disk holds every move the new snapshot contains. Since a move sets a cell to an
+ * absolute value, replaying that log over the new snapshot (after a crash between replacing
+ * the snapshot and emptying the log) ends in the same state, which keeps compaction
+ * crash-safe without linking the two files.</p>
+ * <p>All methods are synchronized.</p>
+ */
+public final class SessionJournal implements Closeable {
+
+    /** Bytes per logged move. */
+    public static final int RECORD_SIZE = 8;
+    public static final int DEFAULT_SYNC_EVERY = 32;
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_COMPACT_EVERY = 4096;
+
+    private static final int MAGIC = 0x53444B4A;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private final Path snapshot;
+    private final Path log;
+    private final int syncEvery;
+    private final long syncIntervalNanos;
+    private final int compactEvery;
+
+    private final int[][] current = new int[9][9];
+    private final int[][] player = new int[9][9];
+    private final ByteBuffer pending;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private int sequence;
+    private ScheduledExecutorService flusher;
+    private ScheduledFuture<?> scheduledSync;
+    private IOException syncFailure;
+
+    /**
+     * Creates a journal with {@link #DEFAULT_SYNC_EVERY}, {@link #DEFAULT_SYNC_INTERVAL} and
+     * {@link #DEFAULT_COMPACT_EVERY}.
+     * @param snapshot snapshot file
+     * @param log move log file
+     */
+    public SessionJournal(File snapshot, File log) {
+        this(snapshot, log, DEFAULT_SYNC_EVERY, DEFAULT_SYNC_INTERVAL, DEFAULT_COMPACT_EVERY);
+    }
+
+    /**
+     * Creates a journal. No file is touched until {@link #recover()} or {@link #start}.
+     * @param snapshot snapshot file
+     * @param log move log file
+     * @param syncEvery number of buffered moves that triggers a write and fsync (at least 1)
+     * @param syncInterval age of the oldest buffered move that triggers a write and fsync
+     * @param compactEvery number of logged moves after which the log is folded into the snapshot (at least 1)
+     */
+    public SessionJournal(File snapshot, File log, int syncEvery, Duration syncInterval, int compactEvery) {
+        if (snapshot == null || log == null) throw new IllegalArgumentException("Journal files must not be null");
+        if (syncEvery < 1) throw new IllegalArgumentException("Sync cadence must be at least 1 move");
+        if (syncInterval == null || syncInterval.isNegative()) throw new IllegalArgumentException("Sync interval must not be negative");
+        if (compactEvery < 1) throw new IllegalArgumentException("Compaction cadence must be at least 1 move");
+        this.snapshot = snapshot.toPath();
+        this.log = log.toPath();
+        this.syncEvery = syncEvery;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.compactEvery = compactEvery;
+        this.pending = ByteBuffer.allocate(syncEvery * RECORD_SIZE);
+    }
+
+    /**
+     * Reads the session left by an earlier run: the snapshot with every intact logged move
+     * applied. The files are not modified.
+     * @return the recovered session, or {@code null} when there is no snapshot
+     * @throws IOException when the snapshot exists but can't be read
+     */
+    public synchronized SessionData recover() throws IOException {
+        if (!Files.isRegularFile(snapshot)) return null;
+        SessionData base = SessionManager.loadSession(snapshot.toFile());
+        int[][] recovered = base.getPlayer();
+        ByteBuffer bytes;
+        try {
+            bytes = ByteBuffer.wrap(Files.readAllBytes(log));
+        } catch (NoSuchFileException ex) {
+            return base;
+        }
+        if (bytes.remaining() < HEADER_SIZE || bytes.getInt() != MAGIC || bytes.getInt() != VERSION) return base;
+        for (int expected = 1; bytes.remaining() >= RECORD_SIZE; expected++) {
+            int start = bytes.position();
+            int seq = bytes.getInt();
+            int cell = bytes.get();
+            int value = bytes.get();
+            int check = bytes.getShort() & 0xFFFF;
+            if (seq != expected || cell < 0 || cell > 80 || value < 0 || value > 9 || check != checksum(bytes.array(), start)) break;
+            recovered[cell / 9][cell % 9] = value;
+        }
+        return new SessionData(base.getCurrent(), recovered);
+    }
+
+    /**
+     * Begins journaling a session: writes a snapshot of it and starts an empty log.
+     * @param current 9x9 puzzle
+     * @param player 9x9 player entries
+     * @throws IOException when writing fails
+     */
+    public synchronized void start(int[][] current, int[][] player) throws IOException {
+        SudokuBoard.copyInto(current, this.current);
+        SudokuBoard.copyInto(player, this.player);
+        pending.clear();
+        cancelScheduledSync();
+        // empty the log before replacing the snapshot, so a crash in between never replays
+        // moves of the previous session onto the new one
+        if (channel == null) channel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.truncate(0);
+        channel.force(false);
+        writeSnapshot();
+        resetLog();
+    }
+
+    /**
+     * Logs a player move. The move reaches the disk with the next sync.
+     * @param row row (0-8)
+     * @param col column (0-8)
+     * @param value digit 1..9, or 0 for a cleared cell
+     * @throws IOException when a triggered sync or compaction fails, or a background sync failed since the last move
+     */
+    public synchronized void record(int row, int col, int value) throws IOException {
+        if (channel == null) throw new IllegalStateException("Journal not started");
+        if (syncFailure != null) {
+            IOException failure = syncFailure;
+            syncFailure = null;
+            throw failure;
+        }
+        if (row < 0 || row > 8 || col < 0 || col > 8 || value < 0 || value > 9) {
+            throw new IllegalArgumentException("Invalid move " + value + " at (" + row + ", " + col + ")");
+        }
+        player[row][col] = value;
+        int start = pending.position();
+        pending.putInt(++sequence).put((byte) (row * 9 + col)).put((byte) value);
+        pending.putShort((short) checksum(pending.array(), start));
+        if (!pending.hasRemaining() || syncIntervalNanos == 0) sync();
+        else if (start == 0) scheduleSync();
+    }
+
+    /**
+     * Writes buffered moves and forces them to disk, compacting when the log has grown past
+     * the compaction cadence.
+     * @throws IOException when writing fails
+     */
+    public synchronized void sync() throws IOException {
+        cancelScheduledSync();
+        if (channel == null) return;
+        if (pending.position() > 0) {
+            pending.flip();
+            while (pending.hasRemaining()) channel.write(pending);
+            pending.clear();
+            channel.force(false);
+        }
+        if (sequence >= compactEvery) compact();
+    }
+
+    /** Folds the logged moves into a new snapshot and empties the log; only called by {@link #sync()} once nothing is buffered. */
+    private void compact() throws IOException {
+        writeSnapshot();
+        channel.truncate(0);
+        resetLog();
+    }
+
+    /** Returns the number of moves logged since the last snapshot. */
+    public synchronized int getLoggedMoves() {
+        return sequence;
+    }
+
+    /** Syncs buffered moves and closes the log. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) return;
+        try {
+            sync();
+        } finally {
+            if (flusher != null) {
+                flusher.shutdown();
+                flusher = null;
+            }
+            syncFailure = null;
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /** Schedules a sync {@code syncInterval} from now, for the move that was just buffered first. */
+    private void scheduleSync() {
+        if (flusher == null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "sudoku-journal");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        scheduledSync = flusher.schedule(this::backgroundSync, syncIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelScheduledSync() {
+        if (scheduledSync != null) {
+            scheduledSync.cancel(false);
+            scheduledSync = null;
+        }
+    }
+
+    private synchronized void backgroundSync() {
+        try {
+            sync();
+        } catch (IOException ex) {
+            syncFailure = ex;
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SessionManager.BINARY_SIZE);
+        SessionManager.encode(current, player, buffer);
+        buffer.flip();
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) out.write(buffer);
+            out.force(true);
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void resetLog() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        channel.position(0);
+        while (header.hasRemaining()) channel.write(header);
+        channel.force(false);
+        sequence = 0;
+    }
+
+    /** Returns the low 16 bits of the CRC32 of the 6 record bytes at {@code offset}. */
+    private int checksum(byte[] record, int offset) {
+        crc.reset();
+        crc.update(record, offset, 6);
+        return (int) crc.getValue() & 0xFFFF;
+    }
+}
@@ -2,42 +2,127 @@ package com.example.sudokuhelper.Model;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.StringTokenizer;
+import java.util.zip.CRC32;
 
 /**
  * Handles persistence of Sudoku play sessions (current puzzle and player entries).
+ * <p>Sessions are saved in a binary format of {@value #BINARY_SIZE} bytes:</p>
+ * <pre>
+ * magic   4 bytes  "SDKS"
+ * version 1 byte   {@value #VERSION}
+ * current 41 bytes 81 cells, two per byte, high nibble first
+ * player  41 bytes likewise
+ * crc     4 bytes  CRC32 of all preceding bytes, big-endian
+ * </pre>
+ * <p>{@link #loadSession(File)} recognizes the format by its magic and otherwise reads the
+ * older text format, with {@code #current} and {@code #player} sections of nine
+ * comma-separated rows each.</p>
  */
 public final class SessionManager {
 
+    /** Size in bytes of a binary session. */
+    public static final int BINARY_SIZE = 91;
+    /** Current version of the binary format. */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x53444B53;
+    private static final int PACKED_GRID_SIZE = 41;
+
     private SessionManager() {
         // utility
     }
 
     public static void saveSession(File file, int[][] current, int[][] player) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
-            writer.println("#current");
-            writeGrid(writer, current);
-            writer.println("#player");
-            writeGrid(writer, player);
+        ByteBuffer buffer = ByteBuffer.allocate(BINARY_SIZE);
+        encode(current, player, buffer);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
         }
     }
 
-    private static void writeGrid(PrintWriter writer, int[][] grid) {
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                writer.print(grid[row][col]);
-                if (col < 8) writer.print(',');
+    public static SessionData loadSession(File file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            // both formats are tiny; anything larger is not a session file
+            if (size > 64 * 1024) throw new IOException("Session file too large: " + size + " bytes");
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) break;
             }
-            writer.println();
         }
+        buffer.flip();
+        if (buffer.remaining() >= 4 && buffer.getInt(0) == MAGIC) return decode(buffer);
+        return parseText(new String(buffer.array(), 0, buffer.limit(), StandardCharsets.UTF_8));
     }
 
-    public static SessionData loadSession(File file) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+    /**
+     * Writes a session in the binary format at the buffer's position.
+     * @param current 9x9 puzzle, values 0-9
+     * @param player 9x9 player entries, values 0-9
+     * @param buffer destination with at least {@value #BINARY_SIZE} bytes remaining
+     */
+    public static void encode(int[][] current, int[][] player, ByteBuffer buffer) {
+        if (buffer.remaining() < BINARY_SIZE) throw new IllegalArgumentException("Buffer needs " + BINARY_SIZE + " bytes");
+        byte[] bytes = new byte[BINARY_SIZE - 4];
+        ByteBuffer.wrap(bytes).putInt(MAGIC);
+        bytes[4] = VERSION;
+        pack(current, bytes, 5);
+        pack(player, bytes, 5 + PACKED_GRID_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        buffer.put(bytes).putInt((int) crc.getValue());
+    }
+
+    /**
+     * Reads a binary session from the buffer's position.
+     * @param buffer source with at least {@value #BINARY_SIZE} bytes remaining
+     * @return the session
+     * @throws IOException when the data is truncated, of an unknown version or corrupt
+     */
+    public static SessionData decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < BINARY_SIZE) throw new IOException("Truncated session: " + buffer.remaining() + " bytes");
+        byte[] bytes = new byte[BINARY_SIZE - 4];
+        buffer.get(bytes);
+        int stored = buffer.getInt();
+        if (ByteBuffer.wrap(bytes).getInt() != MAGIC) throw new IOException("Not a binary session");
+        if (bytes[4] != VERSION) throw new IOException("Unsupported session version " + bytes[4]);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != stored) throw new IOException("Session checksum mismatch");
+        return new SessionData(unpack(bytes, 5), unpack(bytes, 5 + PACKED_GRID_SIZE));
+    }
+
+    private static void pack(int[][] grid, byte[] dest, int offset) {
+        for (int cell = 0; cell < 81; cell++) {
+            int value = grid[cell / 9][cell % 9];
+            if (value < 0 || value > 9) throw new IllegalArgumentException("Cell values must be between 0 and 9");
+            dest[offset + cell / 2] |= (byte) (cell % 2 == 0 ? value << 4 : value);
+        }
+    }
+
+    private static int[][] unpack(byte[] src, int offset) throws IOException {
+        int[][] grid = new int[9][9];
+        for (int cell = 0; cell < 81; cell++) {
+            int packed = src[offset + cell / 2];
+            int value = cell % 2 == 0 ? packed >> 4 & 0xF : packed & 0xF;
+            if (value > 9) throw new IOException("Invalid cell value " + value);
+            grid[cell / 9][cell % 9] = value;
+        }
+        return grid;
+    }
+
+    private static SessionData parseText(String text) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
             int[][] current = new int[9][9];
             int[][] player = new int[9][9];
             String section = null;
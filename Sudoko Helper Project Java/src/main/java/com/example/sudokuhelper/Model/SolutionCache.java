@@ -0,0 +1,218 @@
+package com.example.sudokuhelper.Model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Bounded least-recently-used cache from puzzle to solution, keyed by {@link GridHash}.
+ * <p>Each entry keeps the puzzle and its solution as 81 bytes apiece, so the capacity
+ * also bounds the memory used. A hit is only reported when the stored puzzle equals the
+ * requested one, which rules out hash collisions. Puzzles without a solution are cached
+ * too. All methods are thread-safe.</p>
+ * <p>The cache can be saved to and loaded from a text file, one entry per line: the puzzle
+ * and the solution as 81 digits each ({@code 0} for blanks), or {@code -} in place of the
+ * solution for unsolvable puzzles.</p>
+ */
+public final class SolutionCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final byte[] UNSOLVABLE = new byte[0];
+
+    private final int capacity;
+    private final Map<GridHash, byte[][]> entries;
+    private long hits;
+    private long misses;
+
+    /** Creates a cache holding up to {@link #DEFAULT_CAPACITY} puzzles. */
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of cached puzzles
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GridHash, byte[][]> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the solution of {@code puzzle}, solving it with {@code solver} on a miss.
+     * @param puzzle 9x9 grid, 0 for empty cells; not modified
+     * @param solver engine used on a miss
+     * @return a new solved grid, or {@code null} when the puzzle has no solution
+     */
+    public int[][] solve(int[][] puzzle, SolverStrategy solver) {
+        GridHash key = GridHash.of(puzzle);
+        byte[] cached = lookup(key, puzzle);
+        if (cached != null) return cached == UNSOLVABLE ? null : toGrid(cached);
+
+        int[][] solved = SudokuBoard.deepCopy(puzzle);
+        boolean solvable = solver.solve(solved);
+        store(key, toBytes(puzzle), solvable ? toBytes(solved) : UNSOLVABLE);
+        return solvable ? solved : null;
+    }
+
+    /**
+     * Returns the cached solution of {@code puzzle} without solving.
+     * @param puzzle 9x9 grid, 0 for empty cells; not modified
+     * @return a new solved grid, or {@code null} when the puzzle is not cached or has no solution
+     */
+    public int[][] get(int[][] puzzle) {
+        byte[] cached = lookup(GridHash.of(puzzle), puzzle);
+        return cached == null || cached == UNSOLVABLE ? null : toGrid(cached);
+    }
+
+    /**
+     * Records a known solution, e.g. one found by a background solve.
+     * @param puzzle 9x9 grid, 0 for empty cells
+     * @param solution its solution, or {@code null} when it has none
+     */
+    public void put(int[][] puzzle, int[][] solution) {
+        store(GridHash.of(puzzle), toBytes(puzzle), solution == null ? UNSOLVABLE : toBytes(solution));
+    }
+
+    private synchronized byte[] lookup(GridHash key, int[][] puzzle) {
+        byte[][] entry = entries.get(key);
+        if (entry != null && matches(entry[0], puzzle)) {
+            hits++;
+            return entry[1];
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void store(GridHash key, byte[] puzzle, byte[] solution) {
+        entries.put(key, new byte[][] {puzzle, solution});
+    }
+
+    /** Returns the number of cached puzzles. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Returns the fraction of lookups answered from the cache, 0 before the first lookup. */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /** Removes all entries and resets the statistics. */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Writes all entries to {@code file}, least recently used first.
+     * @param file destination file
+     * @throws IOException when writing fails
+     */
+    public void save(File file) throws IOException {
+        List<byte[][]> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(entries.values());
+        }
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            for (byte[][] entry : snapshot) {
+                writer.print(toText(entry[0]));
+                writer.print(' ');
+                writer.println(entry[1] == UNSOLVABLE ? "-" : toText(entry[1]));
+            }
+        }
+    }
+
+    /**
+     * Adds the entries of a file written by {@link #save(File)}. Malformed lines are skipped.
+     * @param file source file
+     * @throws IOException when reading fails
+     */
+    public void load(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 2 || !isGridText(parts[0])) continue;
+                byte[] puzzle = fromText(parts[0]);
+                byte[] solution;
+                if (parts[1].equals("-")) solution = UNSOLVABLE;
+                else if (isGridText(parts[1])) solution = fromText(parts[1]);
+                else continue;
+                store(GridHash.of(toGrid(puzzle)), puzzle, solution);
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "SolutionCache[", "]");
+        joiner.add("size=" + entries.size() + "/" + capacity);
+        joiner.add("hits=" + hits);
+        joiner.add("misses=" + misses);
+        return joiner.toString();
+    }
+
+    private static boolean matches(byte[] stored, int[][] puzzle) {
+        for (int cell = 0; cell < 81; cell++) if (stored[cell] != puzzle[cell / 9][cell % 9]) return false;
+        return true;
+    }
+
+    private static byte[] toBytes(int[][] grid) {
+        byte[] bytes = new byte[81];
+        for (int cell = 0; cell < 81; cell++) bytes[cell] = (byte) grid[cell / 9][cell % 9];
+        return bytes;
+    }
+
+    private static int[][] toGrid(byte[] bytes) {
+        int[][] grid = new int[9][9];
+        for (int cell = 0; cell < 81; cell++) grid[cell / 9][cell % 9] = bytes[cell];
+        return grid;
+    }
+
+    private static String toText(byte[] bytes) {
+        char[] chars = new char[81];
+        for (int cell = 0; cell < 81; cell++) chars[cell] = (char) ('0' + bytes[cell]);
+        return new String(chars);
+    }
+
+    private static boolean isGridText(String text) {
+        if (text.length() != 81) return false;
+        for (int i = 0; i < 81; i++) if (text.charAt(i) < '0' || text.charAt(i) > '9') return false;
+        return true;
+    }
+
+    private static byte[] fromText(String text) {
+        byte[] bytes = new byte[81];
+        for (int cell = 0; cell < 81; cell++) bytes[cell] = (byte) (text.charAt(cell) - '0');
+        return bytes;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.sudokuhelper.Model;
+
+/**
+ * Immutable snapshot of a running background solve.
+ */
+public final class SolveProgress {
+
+    private final long nodes;
+    private final int depth;
+
+    public SolveProgress(long nodes, int depth) {
+        this.nodes = nodes;
+        this.depth = depth;
+    }
+
+    /** Returns the number of search nodes explored so far. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /** Returns the number of cells the search has currently filled in. */
+    public int getDepth() {
+        return depth;
+    }
+}
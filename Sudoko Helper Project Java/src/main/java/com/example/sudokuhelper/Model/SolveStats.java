@@ -0,0 +1,30 @@
+package com.example.sudokuhelper.Model;
+
+/**
+ * Immutable effort counters collected during a single solve.
+ */
+public final class SolveStats {
+
+    private final long propagations;
+    private final long guesses;
+
+    public SolveStats(long propagations, long guesses) {
+        this.propagations = propagations;
+        this.guesses = guesses;
+    }
+
+    /** Returns the number of cells filled by naked or hidden single propagation. */
+    public long getPropagations() {
+        return propagations;
+    }
+
+    /** Returns the number of trial placements made when propagation stalled. */
+    public long getGuesses() {
+        return guesses;
+    }
+
+    @Override
+    public String toString() {
+        return "propagations=" + propagations + ", guesses=" + guesses;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.sudokuhelper.Model;
+
+/**
+ * A pluggable Sudoku solving engine.
+ * <p>Boards are 9x9 int matrices where 0 represents an empty cell. Implementations
+ * may keep reusable internal buffers and are therefore not required to be thread-safe.</p>
+ */
+public interface SolverStrategy {
+
+    /**
+     * Solves {@code board} in-place.
+     * @param board a 9x9 int matrix where 0 represents an empty cell
+     * @return {@code true} when a solution was found and written to the board; {@code false} otherwise
+     */
+    boolean solve(int[][] board);
+
+    /**
+     * Counts the solutions of {@code board}, stopping as soon as {@code limit} are found.
+     * The board is not modified.
+     * @param board a 9x9 int matrix where 0 represents an empty cell
+     * @param limit maximum number of solutions to look for
+     * @return number of solutions found, between 0 and {@code limit}
+     */
+    int countSolutions(int[][] board, int limit);
+}
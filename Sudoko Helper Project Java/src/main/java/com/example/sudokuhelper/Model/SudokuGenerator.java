@@ -1,16 +1,26 @@
 package com.example.sudokuhelper.Model;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Generates solvable Sudoku puzzles using backtracking and randomization.
+ * <p>All randomness comes from the {@link RandomGenerator} passed in, so a seeded
+ * generator reproduces the same puzzle. The single-argument methods use the calling
+ * thread's {@link ThreadLocalRandom} and are safe to call concurrently.</p>
  */
 public final class SudokuGenerator {
 
-    private static final Random RANDOM = new Random();
+    /** Dig-out orders tried on each filled grid before filling a new one. */
+    private static final int ORDERS_PER_GRID = 8;
 
     private SudokuGenerator() {
         // utility
@@ -22,52 +32,177 @@ public final class SudokuGenerator {
      * @return 9x9 puzzle matrix with zeros for empty cells
      */
     public static int[][] generate(int clues) {
+        return generate(clues, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a Sudoku puzzle with a unique solution from the supplied random source.
+     * @param clues desired number of given cells (minimum 17)
+     * @param random source of all random choices; not shared with other threads during the call
+     * @return 9x9 puzzle matrix with zeros for empty cells
+     */
+    public static int[][] generate(int clues, RandomGenerator random) {
         int[][] full = new int[9][9];
-        fillGrid(full, 0, 0);
+        fillGrid(full, 0, 0, random);
 
         int[][] puzzle = SudokuBoard.deepCopy(full);
-        removeCells(puzzle, 81 - Math.max(17, Math.min(clues, 81)));
+        removeCells(puzzle, 81 - Math.max(17, Math.min(clues, 81)), random);
         return puzzle;
     }
 
-    private static boolean fillGrid(int[][] grid, int row, int col) {
+    /**
+     * Generates a puzzle whose {@link DifficultyRater} grade lies within [{@code minGrade}, {@code maxGrade}].
+     * Candidates that need a technique above the band are rejected at the first such step.
+     * @param clues desired number of given cells (minimum 17)
+     * @param minGrade lowest acceptable grade
+     * @param maxGrade highest acceptable grade
+     * @param maxAttempts number of candidate puzzles to try
+     * @param random source of all random choices
+     * @return 9x9 puzzle matrix with zeros for empty cells
+     * @throws IllegalStateException when no candidate fell within the band
+     */
+    public static int[][] generate(int clues, double minGrade, double maxGrade, int maxAttempts, RandomGenerator random) {
+        if (minGrade > maxGrade) throw new IllegalArgumentException("Grade band is empty");
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            int[][] puzzle = generate(clues, random);
+            double grade = DifficultyRater.rate(puzzle, maxGrade).getGrade();
+            if (grade >= minGrade && grade <= maxGrade) return puzzle;
+        }
+        throw new IllegalStateException("No puzzle graded between " + minGrade + " and " + maxGrade
+                + " after " + maxAttempts + " attempts");
+    }
+
+    /**
+     * Generates {@code count} puzzles in parallel.
+     * <p>Puzzle {@code i} is generated from its own random stream, split from {@code seed} in
+     * index order, so the same seed always yields the same puzzles in the same order no matter
+     * how many threads do the work. The returned stream is parallel and ordered; use
+     * {@code forEachOrdered} or a collector to consume it in index order.</p>
+     * @param count number of puzzles
+     * @param clues desired number of given cells per puzzle (minimum 17)
+     * @param seed seed of the whole batch
+     * @return ordered stream of 9x9 puzzles
+     */
+    public static Stream<int[][]> generateBatch(int count, int clues, long seed) {
+        if (count < 0) throw new IllegalArgumentException("Count must not be negative");
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) streams[i] = root.split();
+        return IntStream.range(0, count).parallel().mapToObj(i -> generate(clues, streams[i]));
+    }
+
+    /**
+     * Generates {@code count} puzzles in parallel and hands them to {@code sink} in index order.
+     * @param count number of puzzles
+     * @param clues desired number of given cells per puzzle (minimum 17)
+     * @param seed seed of the whole batch
+     * @param sink receives the puzzles one at a time, in index order
+     */
+    public static void generateBatch(int count, int clues, long seed, Consumer<int[][]> sink) {
+        generateBatch(count, clues, seed).forEachOrdered(sink);
+    }
+
+    /**
+     * Searches for a minimal puzzle (no clue can be removed without losing uniqueness) with
+     * at most {@code targetClues} givens, stopping when one is found or {@code budget} elapses.
+     * <p>One worker per common-pool thread repeatedly fills a grid and digs it out along
+     * several random orders. Each dig-out tries every clue once; since removing clues never
+     * restores uniqueness, a clue that could not be removed earlier can't be removed later,
+     * so every dig-out ends in a minimal puzzle. The result depends on timing and is not
+     * reproducible from {@code seed} alone.</p>
+     * @param targetClues clue count to reach (values below 17 are treated as 17)
+     * @param budget wall-clock limit for the search
+     * @param seed seed of the workers' random streams
+     * @return the minimal puzzle with the fewest clues found
+     */
+    public static int[][] generateMinimal(int targetClues, Duration budget, long seed) {
+        int target = Math.max(17, targetClues);
+        long deadline = System.nanoTime() + budget.toNanos();
+        int workers = ForkJoinPool.getCommonPoolParallelism();
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[workers];
+        for (int i = 0; i < workers; i++) streams[i] = root.split();
+
+        AtomicReference<int[]> best = new AtomicReference<>();
+        IntStream.range(0, workers).parallel().forEach(i -> searchMinimal(target, deadline, streams[i], best));
+        int[] puzzle = best.get();
+        int[][] grid = new int[9][9];
+        for (int cell = 0; cell < 81; cell++) grid[cell / 9][cell % 9] = puzzle[cell];
+        return grid;
+    }
+
+    private static void searchMinimal(int target, long deadline, RandomGenerator random, AtomicReference<int[]> best) {
+        BitboardSolver counter = new BitboardSolver();
+        int[][] full = new int[9][9];
+        int[] solution = new int[81];
+        int[] puzzle = new int[81];
+        int[] positions = new int[81];
+        for (int cell = 0; cell < 81; cell++) positions[cell] = cell;
+
+        // always finish one dig-out so there is a result even with a zero budget
+        while (true) {
+            for (int[] row : full) Arrays.fill(row, 0);
+            fillGrid(full, 0, 0, random);
+            for (int cell = 0; cell < 81; cell++) solution[cell] = full[cell / 9][cell % 9];
+
+            for (int order = 0; order < ORDERS_PER_GRID; order++) {
+                System.arraycopy(solution, 0, puzzle, 0, 81);
+                shuffle(positions, random);
+                int clues = 81;
+                for (int cell : positions) {
+                    puzzle[cell] = 0;
+                    if (counter.countSolutions(puzzle, 2) != 1) puzzle[cell] = solution[cell];
+                    else clues--;
+                }
+                int[] current = best.get();
+                while (current == null || clues < countClues(current)) {
+                    if (best.compareAndSet(current, puzzle.clone())) break;
+                    current = best.get();
+                }
+                if (countClues(best.get()) <= target || System.nanoTime() >= deadline) return;
+            }
+        }
+    }
+
+    private static int countClues(int[] puzzle) {
+        int clues = 0;
+        for (int value : puzzle) if (value != 0) clues++;
+        return clues;
+    }
+
+    private static boolean fillGrid(int[][] grid, int row, int col, RandomGenerator random) {
         if (row == 9) return true;
         int nextRow = col == 8 ? row + 1 : row;
         int nextCol = col == 8 ? 0 : col + 1;
 
-        List<Integer> numbers = new ArrayList<>();
-        for (int n = 1; n <= 9; n++) numbers.add(n);
-        Collections.shuffle(numbers, RANDOM);
+        int[] numbers = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        shuffle(numbers, random);
 
         for (int number : numbers) {
             if (isSafe(grid, row, col, number)) {
                 grid[row][col] = number;
-                if (fillGrid(grid, nextRow, nextCol)) return true;
+                if (fillGrid(grid, nextRow, nextCol, random)) return true;
                 grid[row][col] = 0;
             }
         }
         return false;
     }
 
-    private static void removeCells(int[][] grid, int removals) {
-        List<int[]> positions = new ArrayList<>();
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                positions.add(new int[]{row, col});
-            }
-        }
-        Collections.shuffle(positions, RANDOM);
+    private static void removeCells(int[][] grid, int removals, RandomGenerator random) {
+        int[] positions = new int[81];
+        for (int cell = 0; cell < 81; cell++) positions[cell] = cell;
+        shuffle(positions, random);
 
+        BitboardSolver counter = new BitboardSolver();
         int removed = 0;
-        for (int[] pos : positions) {
+        for (int cell : positions) {
             if (removed >= removals) break;
-            int row = pos[0];
-            int col = pos[1];
+            int row = cell / 9;
+            int col = cell % 9;
             int backup = grid[row][col];
             grid[row][col] = 0;
 
-            int[][] copy = SudokuBoard.deepCopy(grid);
-            if (!hasUniqueSolution(copy)) {
+            if (counter.countSolutions(grid, 2) != 1) {
                 grid[row][col] = backup;
             } else {
                 removed++;
@@ -75,27 +210,14 @@ public final class SudokuGenerator {
         }
     }
 
-    private static boolean hasUniqueSolution(int[][] grid) {
-        return countSolutions(grid, 0, 0, 0) == 1;
-    }
-
-    private static int countSolutions(int[][] grid, int row, int col, int count) {
-        if (count > 1) return count;
-        if (row == 9) return count + 1;
-        int nextRow = col == 8 ? row + 1 : row;
-        int nextCol = col == 8 ? 0 : col + 1;
-
-        if (grid[row][col] != 0) return countSolutions(grid, nextRow, nextCol, count);
-
-        for (int value = 1; value <= 9; value++) {
-            if (isSafe(grid, row, col, value)) {
-                grid[row][col] = value;
-                count = countSolutions(grid, nextRow, nextCol, count);
-                if (count > 1) break;
-            }
+    /** Fisher-Yates shuffle of {@code values}. */
+    private static void shuffle(int[] values, RandomGenerator random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
         }
-        grid[row][col] = 0;
-        return count;
     }
 
     private static boolean isSafe(int[][] grid, int row, int col, int number) {
@@ -2,8 +2,16 @@ package com.example.sudokuhelper.Model;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Model class that holds the current and player Sudoku grids and provides
@@ -14,7 +22,54 @@ public class SudokuModel {
     private final int[][] currentGrid = new int[9][9];
     private final int[][] player = new int[9][9];
     private final int[][] solution = new int[9][9];
+    private final CandidateGrid candidates = new CandidateGrid();
     private boolean solutionAvailable = false;
+    private SolverStrategy solver = new BitboardSolver();
+    private ExecutorService backgroundExecutor;
+    private ExecutorService hintExecutor;
+    /** Next hint for the current player grid, computed speculatively in the background. */
+    private CompletableFuture<HintResult> nextHint;
+    private boolean hintBudgetExhausted;
+    private final PuzzlePool puzzlePool;
+    private final SolutionCache solutionCache;
+    private SessionJournal journal;
+
+    /** Minimum delay between two progress notifications of a background solve. */
+    private static final long PROGRESS_INTERVAL_NANOS = 100_000_000L;
+
+    /** Creates a model with a default {@link PuzzlePool} and {@link SolutionCache}. */
+    public SudokuModel() {
+        this(new PuzzlePool());
+    }
+
+    /**
+     * Creates a model that draws generated puzzles from {@code puzzlePool}.
+     * @param puzzlePool pool of pre-generated puzzles
+     */
+    public SudokuModel(PuzzlePool puzzlePool) {
+        this(puzzlePool, new SolutionCache());
+    }
+
+    /**
+     * Creates a model with the given puzzle pool and solution cache.
+     * @param puzzlePool pool of pre-generated puzzles
+     * @param solutionCache cache consulted before every solve; may be shared between models
+     */
+    public SudokuModel(PuzzlePool puzzlePool, SolutionCache solutionCache) {
+        if (puzzlePool == null) throw new IllegalArgumentException("Puzzle pool must not be null");
+        if (solutionCache == null) throw new IllegalArgumentException("Solution cache must not be null");
+        this.puzzlePool = puzzlePool;
+        this.solutionCache = solutionCache;
+    }
+
+    /**
+     * Selects the engine used by {@link #solve()} and when computing the reference solution.
+     * @param solver solving strategy, e.g. {@link BitboardSolver} or {@link DancingLinksSolver}
+     */
+    public void setSolverStrategy(SolverStrategy solver) {
+        if (solver == null) throw new IllegalArgumentException("Solver strategy must not be null");
+        this.solver = solver;
+    }
 
     /**
      * Returns a defensive copy of the current grid (the given puzzle).
@@ -34,14 +89,46 @@ public class SudokuModel {
 
     /**
      * Replaces the player grid content with a copy of {@code src}.
+     * Only cells that differ are applied to the candidate grid.
      * @param src 9x9 source matrix
      */
     public void setPlayerGrid(int[][] src) {
-        SudokuBoard.copyInto(src, player);
+        applyPlayerGrid(src, true);
+    }
+
+    /** Copies {@code src} into the player grid, logging the changed cells as moves when {@code journaled}. */
+    private void applyPlayerGrid(int[][] src, boolean journaled) {
+        boolean changed = false;
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                if (player[r][c] != src[r][c]) {
+                    player[r][c] = src[r][c];
+                    candidates.set(r * 9 + c, src[r][c]);
+                    if (journaled) journalMove(r, c, src[r][c]);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) candidatesChanged();
+    }
+
+    /**
+     * Sets a single player cell, updating the candidates of its row, column and box.
+     * @param row target row (0-8)
+     * @param col target column (0-8)
+     * @param value digit 1..9, or 0 to clear the cell
+     */
+    public void setPlayerValue(int row, int col, int value) {
+        player[row][col] = value;
+        if (candidates.set(row * 9 + col, value)) {
+            journalMove(row, col, value);
+            candidatesChanged();
+        }
     }
 
     /**
-     * Sets the current (given) grid from {@code src}.
+     * Sets the current (given) grid from {@code src}. The journal is left alone; the methods
+     * loading a whole new session restart it once the player grid is in place as well.
      * @param src 9x9 source matrix
      */
     public void setCurrentGrid(int[][] src) {
@@ -58,16 +145,68 @@ public class SudokuModel {
     }
 
     /**
-     * Attempts to solve the player grid in-place. Empty cells must be 0.
+     * Checks whether the current puzzle (givens) has exactly one solution.
+     * @return {@code true} if the givens admit a single solution
+     */
+    public boolean hasUniqueSolution() {
+        return SudokuSolver.countSolutions(currentGrid, 2) == 1;
+    }
+
+    /**
+     * Attempts to solve the player grid in-place, answering from the solution cache when
+     * the same grid was solved before. Empty cells must be 0.
      * @return {@code true} if the grid was solved; {@code false} otherwise
      */
     public boolean solve() {
-        boolean solved = SudokuSolver.solve(player);
-        if (solved) {
-            SudokuBoard.copyInto(player, solution);
+        int[][] solved = solutionCache.solve(player, solver);
+        if (solved != null) {
+            for (int cell = 0; cell < 81; cell++) {
+                int value = solved[cell / 9][cell % 9];
+                if (player[cell / 9][cell % 9] != value) journalMove(cell / 9, cell % 9, value);
+            }
+            SudokuBoard.copyInto(solved, player);
+            SudokuBoard.copyInto(solved, solution);
             solutionAvailable = true;
         }
-        return solved;
+        candidates.load(player);
+        candidatesChanged();
+        return solved != null;
+    }
+
+    /**
+     * Solves a snapshot of the player grid on a background thread.
+     * <p>The model itself is not modified; the caller applies the result (for example with
+     * {@link #setPlayerGrid(int[][])}) on its own thread. Cancelling the returned future stops
+     * the search at its next checkpoint.</p>
+     * @param timeout maximum solving time; the future then fails with a {@link TimeoutException}
+     * @param progress receives node and depth counts at most every 100 ms, on the solver thread; may be {@code null}
+     * @return future completed with the solved grid, or with {@code null} when the grid has no solution
+     */
+    public CompletableFuture<int[][]> solveAsync(Duration timeout, Consumer<SolveProgress> progress) {
+        int[][] snapshot = SudokuBoard.deepCopy(player);
+        int[][] cached = solutionCache.get(snapshot);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<int[][]> future = new CompletableFuture<>();
+        backgroundExecutor().execute(() -> {
+            if (future.isDone()) return;
+            BitboardSolver engine = new BitboardSolver();
+            engine.setMonitor(new AsyncSolveMonitor(future, deadline, progress));
+            try {
+                int[][] puzzle = SudokuBoard.deepCopy(snapshot);
+                boolean solved = engine.solve(snapshot);
+                if (engine.wasAborted()) {
+                    future.completeExceptionally(new TimeoutException("No solution found within " + timeout.toMillis() + " ms"));
+                } else {
+                    solutionCache.put(puzzle, solved ? snapshot : null);
+                    future.complete(solved ? snapshot : null);
+                }
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
     }
 
     /**
@@ -78,25 +217,101 @@ public class SudokuModel {
      * @return list of integers in range 1..9 that are valid candidates
      */
     public List<Integer> getPossibleValues(int row, int col) {
-        return CandidateAnalyzer.analyze(player, row, col);
+        return CandidateAnalyzer.toList(candidates.candidates(row * 9 + col));
+    }
+
+    /**
+     * Returns the candidate mask of ({@code row},{@code col}) from the live candidate grid.
+     * @param row target row (0-8)
+     * @param col target column (0-8)
+     * @return 9-bit mask where bit {@code d-1} is set when digit {@code d} is a candidate
+     */
+    public int getCandidateMask(int row, int col) {
+        return candidates.candidates(row * 9 + col);
     }
 
     /**
      * Finds a human-style hint for the current player grid.
+     * <p>After every change to the player grid the next hint is computed speculatively on a
+     * background thread, so this usually returns a ready result; otherwise it computes the
+     * hint directly. Candidates removed by an elimination hint are recorded in the live
+     * candidates (and so disappear from {@link #getPossibleValues(int, int)}), letting the
+     * next call move on to a further deduction.</p>
+     * <p>Chain and coloring techniques are bounded by the default {@link ChainSearch} budget;
+     * when it runs out the result is empty and {@link #isHintBudgetExhausted()} is set.</p>
      * @return optional hint describing the next logical move
      */
     public Optional<Hint> computeHint() {
-        return HintGenerator.findHint(player);
+        CompletableFuture<HintResult> pending = nextHint;
+        HintResult result;
+        if (pending != null && pending.isDone() && !pending.isCompletedExceptionally()) {
+            result = pending.join();
+        } else {
+            result = searchHint(candidates, () -> false);
+            // completing the pending search stops the background thread from running it, or cancels it in flight
+            if (pending != null) pending.complete(result);
+        }
+        Optional<Hint> hint = result.hint;
+        hintBudgetExhausted = result.budgetExhausted;
+        if (hint.isPresent() && hint.get().isElimination()) {
+            candidates.apply(hint.get());
+            candidatesChanged();
+        }
+        return hint;
+    }
+
+    /**
+     * Returns {@code true} when the latest {@link #computeHint()} found no hint because the
+     * chain search ran out of budget, rather than because no technique applies.
+     */
+    public boolean isHintBudgetExhausted() {
+        return hintBudgetExhausted;
+    }
+
+    /**
+     * Returns the logical solution of the current puzzle (the givens) as a lazy stream of
+     * hints, for step-through playback or grading. Each hint is computed only when pulled,
+     * on a private candidate grid, so the model is not modified.
+     * @return ordered stream of the hints that solve the puzzle, ending early when logic runs out
+     */
+    public Stream<Hint> logicalSolution() {
+        return HintTrace.stream(currentGrid);
     }
 
     /**
-     * Generates a new random puzzle and loads it into current and player grids.
+     * Starts pre-generating puzzles for the given clue counts in the background.
+     * @param clues clue counts the UI offers
+     */
+    public void warmUpPuzzles(int... clues) {
+        puzzlePool.warmUp(clues);
+    }
+
+    /**
+     * Returns the puzzle pool, e.g. to read its hit and miss counters.
+     * @return the pool used by {@link #generateRandomPuzzle(int)}
+     */
+    public PuzzlePool getPuzzlePool() {
+        return puzzlePool;
+    }
+
+    /**
+     * Returns the solution cache, e.g. to read its hit rate or persist it.
+     * @return the cache shared by {@link #solve()}, {@link #solveAsync} and the reference solution
+     */
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    /**
+     * Loads a new random puzzle into current and player grids, taking a pre-generated
+     * one from the puzzle pool when available.
      * @param clues number of givens to keep (17-81)
      */
     public void generateRandomPuzzle(int clues) {
-        int[][] puzzle = SudokuGenerator.generate(clues);
+        int[][] puzzle = puzzlePool.take(clues);
         setCurrentGrid(puzzle);
-        setPlayerGrid(puzzle);
+        applyPlayerGrid(puzzle, false);
+        restartJournal();
     }
 
     /**
@@ -109,7 +324,8 @@ public class SudokuModel {
         if (file == null) return false;
         int[][] imported = FileImporter.importFromFile(file);
         setCurrentGrid(imported);
-        setPlayerGrid(imported);
+        applyPlayerGrid(imported, false);
+        restartJournal();
         return true;
     }
 
@@ -150,10 +366,74 @@ public class SudokuModel {
         if (file == null) return false;
         SessionData data = SessionManager.loadSession(file);
         setCurrentGrid(data.getCurrent());
-        setPlayerGrid(data.getPlayer());
+        applyPlayerGrid(data.getPlayer(), false);
+        restartJournal();
         return true;
     }
 
+    /**
+     * Starts journaling every change of the player grid to {@code journal}, first restoring
+     * the session it recovers from an earlier run, if any.
+     * <p>Journaling stops at the first I/O error so that a failing disk never interrupts
+     * play; {@link #getJournal()} then returns {@code null}.</p>
+     * @param journal journal to write to; replaces and closes any earlier one
+     * @return {@code true} if a session was recovered and loaded
+     * @throws IOException when the journal can't be read or started
+     */
+    public boolean attachJournal(SessionJournal journal) throws IOException {
+        closeJournal();
+        SessionData recovered = journal.recover();
+        if (recovered != null) {
+            setCurrentGrid(recovered.getCurrent());
+            setPlayerGrid(recovered.getPlayer());
+        }
+        journal.start(currentGrid, player);
+        this.journal = journal;
+        return recovered != null;
+    }
+
+    /** Returns the attached journal, or {@code null} when moves are not journaled. */
+    public SessionJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Syncs and detaches the journal, if any.
+     * @throws IOException when the final sync fails
+     */
+    public void closeJournal() throws IOException {
+        SessionJournal closing = journal;
+        journal = null;
+        if (closing != null) closing.close();
+    }
+
+    private void journalMove(int row, int col, int value) {
+        if (journal == null) return;
+        try {
+            journal.record(row, col, value);
+        } catch (IOException ex) {
+            dropJournal();
+        }
+    }
+
+    /** Starts the journal over from the session that just replaced the previous one. */
+    private void restartJournal() {
+        if (journal == null) return;
+        try {
+            journal.start(currentGrid, player);
+        } catch (IOException ex) {
+            dropJournal();
+        }
+    }
+
+    private void dropJournal() {
+        try {
+            closeJournal();
+        } catch (IOException ex) {
+            // already failing; the moves since the last sync are lost either way
+        }
+    }
+
     /**
      * Provides a snapshot of the player grid paired with given flags from the original puzzle.
      * @return 9x9 array describing each cell's value and whether it is a fixed clue
@@ -171,16 +451,100 @@ public class SudokuModel {
     }
 
     /**
-     * Recomputes the solved grid from the current givens.
+     * Supersedes any speculative hint computation and starts one for the new candidates.
+     * The background task works on a copy, so later changes never race with it; its chain
+     * search polls the future and stops once it is cancelled or completed elsewhere.
+     */
+    private void candidatesChanged() {
+        if (nextHint != null) nextHint.cancel(false);
+        CandidateGrid snapshot = candidates.copy();
+        CompletableFuture<HintResult> future = new CompletableFuture<>();
+        nextHint = future;
+        hintExecutor().execute(() -> {
+            // skip work that a newer change or a direct computeHint() already made moot
+            if (future.isDone()) return;
+            try {
+                future.complete(searchHint(snapshot, future::isDone));
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private static HintResult searchHint(CandidateGrid grid, BooleanSupplier cancelled) {
+        ChainSearch chains = new ChainSearch(ChainSearch.DEFAULT_MAX_LENGTH, ChainSearch.DEFAULT_NODE_BUDGET, cancelled);
+        return new HintResult(HintGenerator.findHint(grid, chains), chains.wasBudgetExhausted());
+    }
+
+    /** Outcome of one hint search. */
+    private static final class HintResult {
+        private final Optional<Hint> hint;
+        private final boolean budgetExhausted;
+
+        private HintResult(Optional<Hint> hint, boolean budgetExhausted) {
+            this.hint = hint;
+            this.budgetExhausted = budgetExhausted;
+        }
+    }
+
+    private synchronized ExecutorService hintExecutor() {
+        if (hintExecutor == null) {
+            hintExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "sudoku-hints");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return hintExecutor;
+    }
+
+    private synchronized ExecutorService backgroundExecutor() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "sudoku-solver");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * Recomputes the solved grid from the current givens, reusing a cached solution when
+     * the puzzle was seen before.
      */
     private void refreshSolution() {
-        int[][] snapshot = SudokuBoard.deepCopy(currentGrid);
-        if (SudokuSolver.solve(snapshot)) {
-            SudokuBoard.copyInto(snapshot, solution);
+        int[][] solved = solutionCache.solve(currentGrid, solver);
+        if (solved != null) {
+            SudokuBoard.copyInto(solved, solution);
             solutionAvailable = true;
         } else {
             solutionAvailable = false;
         }
     }
 
+    /** Stops a background solve on cancellation or deadline and throttles progress callbacks. */
+    private static final class AsyncSolveMonitor implements SearchMonitor {
+        private final CompletableFuture<?> future;
+        private final long deadline;
+        private final Consumer<SolveProgress> progress;
+        private long lastPublished = System.nanoTime();
+
+        private AsyncSolveMonitor(CompletableFuture<?> future, long deadline, Consumer<SolveProgress> progress) {
+            this.future = future;
+            this.deadline = deadline;
+            this.progress = progress;
+        }
+
+        @Override
+        public boolean proceed(long nodes, int depth) {
+            long now = System.nanoTime();
+            if (future.isDone() || now - deadline >= 0) return false;
+            if (progress != null && now - lastPublished >= PROGRESS_INTERVAL_NANOS) {
+                lastPublished = now;
+                progress.accept(new SolveProgress(nodes, depth));
+            }
+            return true;
+        }
+    }
 }
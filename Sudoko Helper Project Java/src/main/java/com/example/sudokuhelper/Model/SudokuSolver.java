@@ -1,61 +1,30 @@
 package com.example.sudokuhelper.Model;
 
 /**
- * Backtracking Sudoku solver utility.
- * <p>Provides a simple recursive solver that fills the provided 9x9 board
- * in-place. Empty cells are represented by 0.</p>
+ * Sudoku solver utility.
+ * <p>Fills the provided 9x9 board in-place using the {@link BitboardSolver}
+ * engine (bitmask constraints with most-constrained-cell ordering).
+ * Empty cells are represented by 0.</p>
  */
 public class SudokuSolver {
 
     /**
-     * Attempts to solve the provided Sudoku board using backtracking.
+     * Attempts to solve the provided Sudoku board.
      * @param board a 9x9 int matrix where 0 represents an empty cell
      * @return {@code true} when a solution was found and the board is filled; {@code false} otherwise
      */
     public static boolean solve(int[][] board) {
-        int[] pos = findUnassigned(board);
-        if (pos == null) {
-            return true; // solved
-        }
-        int row = pos[0], col = pos[1];
-
-        for (int num = 1; num <= 9; num++) {
-            if (isSafe(board, row, col, num)) {
-                board[row][col] = num;
-                if (solve(board)) {
-                    return true;
-                }
-                board[row][col] = 0;
-            }
-        }
-        return false; // trigger backtracking
-    }
-
-    /**
-     * Finds an unassigned (empty) cell in the board.
-     * @param board the board to search
-     * @return an array of two integers {row, col} for the first empty cell, or {@code null} if none
-     */
-    private static int[] findUnassigned(int[][] board) {
-        for (int r = 0; r < 9; r++) {
-            for (int c = 0; c < 9; c++) {
-                if (board[r][c] == 0) {
-                    return new int[]{r, c};
-                }
-            }
-        }
-        return null;
+        return new BitboardSolver().solve(board);
     }
 
     /**
-     * Checks whether it is safe to place {@code num} at position ({@code row},{@code col}).
-     * @param board the Sudoku board
-     * @param row target row
-     * @param col target column
-     * @param num candidate number (1-9)
-     * @return {@code true} if placing {@code num} does not violate Sudoku constraints
+     * Counts the solutions of the board, stopping early once {@code limit} are found.
+     * Use a limit of 2 to test for uniqueness. The board is not modified.
+     * @param board a 9x9 int matrix where 0 represents an empty cell
+     * @param limit maximum number of solutions to look for
+     * @return number of solutions found, between 0 and {@code limit}
      */
-    private static boolean isSafe(int[][] board, int row, int col, int num) {
-        return CandidateAnalyzer.analyze(board, row, col).contains(num);
+    public static int countSolutions(int[][] board, int limit) {
+        return new BitboardSolver().countSolutions(board, limit);
     }
 }
@@ -1,5 +1,7 @@
 package com.example.sudokuhelper;
 
+import com.example.sudokuhelper.Controller.SudokuController;
+
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -9,6 +11,9 @@ import javafx.stage.Stage;
  * JavaFX application entry point for the Sudoku helper app.
  */
 public class SudokuApplication extends Application {
+
+    private SudokuController controller;
+
     /**
      * Starts the JavaFX application by loading the FXML view and showing the stage.
      */
@@ -16,6 +21,7 @@ public class SudokuApplication extends Application {
     public void start(Stage stage) throws Exception {
         FXMLLoader fxmlLoader = new FXMLLoader(SudokuApplication.class.getResource("sudoku-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 720, 555);
+        controller = fxmlLoader.getController();
         // load application stylesheet
         var css = SudokuApplication.class.getResource("sudoku.css");
         if (css != null) {
@@ -26,6 +32,14 @@ public class SudokuApplication extends Application {
         stage.show();
     }
 
+    /**
+     * Lets the controller persist its state before the application exits.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) controller.shutdown();
+    }
+
     /** Standard launcher used by the build/run tooling. */
     public static void main(String[] args) {
         launch(args);
@@ -0,0 +1,47 @@
+package com.example.sudokuhelper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.example.sudokuhelper.Model.BatchSolver;
+
+/**
+ * Headless entry point that solves a file of one-line puzzles without starting the UI.
+ * <p>Usage: {@code SudokuBatchSolver <input> <output> [threads]}</p>
+ */
+public final class SudokuBatchSolver {
+
+    private SudokuBatchSolver() {
+        // entry point only
+    }
+
+    /** Solves every puzzle of the input file and writes one result line per puzzle. */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: SudokuBatchSolver <input> <output> [threads]");
+            System.exit(2);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length == 3) {
+            try {
+                threads = Integer.parseInt(args[2]);
+            } catch (NumberFormatException ex) {
+                System.err.println("Invalid thread count: " + args[2]);
+                System.exit(2);
+            }
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.US_ASCII);
+             BufferedWriter writer = Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.US_ASCII)) {
+            BatchSolver.Summary summary = new BatchSolver(threads).run(reader, writer);
+            System.out.println(summary);
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println("Batch solve failed: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+}